@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.3.4"
 	id("io.spring.dependency-management") version "1.1.0"
+	id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.example"
@@ -17,17 +18,74 @@ dependencies {
 	implementation("org.springframework.boot:spring-boot-starter-web")
 	implementation("org.springframework.boot:spring-boot-starter-data-jpa")
 	implementation("org.springframework.boot:spring-boot-starter-validation")
+	implementation("org.springframework.boot:spring-boot-starter-cache")
+	implementation("org.springframework.boot:spring-boot-starter-aop")
+
+	// CSV import of sellers
+	implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-csv")
+
+	// Metrics: Actuator, Prometheus endpoint, JDBC statement interception for the slow-query log
+	implementation("org.springframework.boot:spring-boot-starter-actuator")
+	runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+	implementation("net.ttddyy:datasource-proxy:1.10")
+
+	// Cache
+	implementation("com.github.ben-manes.caffeine:caffeine")
 
 	// Database
+	implementation("org.flywaydb:flyway-core")
+	runtimeOnly("org.flywaydb:flyway-database-postgresql")
 	runtimeOnly("com.h2database:h2")
 	runtimeOnly("org.postgresql:postgresql")
 
+	// Reactive database access
+	implementation("org.springframework:spring-r2dbc")
+	implementation("io.r2dbc:r2dbc-pool")
+	implementation("io.projectreactor:reactor-core")
+	runtimeOnly("io.r2dbc:r2dbc-h2")
+	runtimeOnly("org.postgresql:r2dbc-postgresql")
+
 	// Test
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
+	testImplementation("io.projectreactor:reactor-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 
+	// Benchmarks
+	jmhRuntimeOnly("com.h2database:h2")
+
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
 }
+
+tasks.test {
+	useJUnitPlatform {
+		excludeTags("benchmark")
+	}
+}
+
+tasks.register<Test>("benchmark") {
+	description = "Runs throughput benchmarks tagged with 'benchmark'."
+	group = "verification"
+	testClassesDirs = sourceSets["test"].output.classesDirs
+	classpath = sourceSets["test"].runtimeClasspath
+	useJUnitPlatform {
+		includeTags("benchmark")
+	}
+	testLogging {
+		showStandardStreams = true
+	}
+}
+
+// JMH: ./gradlew jmh (or -PjmhIncludes=MapperBenchmark), JSON results for comparison between commits
+jmh {
+	warmupIterations.set(3)
+	iterations.set(5)
+	fork.set(1)
+	resultFormat.set("JSON")
+	resultsFile.set(layout.buildDirectory.file("reports/jmh/results.json"))
+	(findProperty("jmhIncludes") as String?)?.let { includes.set(listOf(it)) }
+	// e.g. -PjmhProfilers=gc to report allocated bytes per operation
+	(findProperty("jmhProfilers") as String?)?.let { profilers.set(it.split(",")) }
+}
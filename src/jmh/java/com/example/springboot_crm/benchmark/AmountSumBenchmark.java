@@ -0,0 +1,47 @@
+package com.example.springboot_crm.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Суммирование BigDecimal в памяти - так SellerService считал суммы продавцов до переноса агрегации в SQL,
+// и так же суммы копятся при пакетной загрузке транзакций.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AmountSumBenchmark {
+
+    @Param({"100", "10000"})
+    private int transactionCount;
+
+    private List<BigDecimal> amounts;
+
+    @Setup
+    public void setUp() {
+
+        Random random = new Random(42);
+        amounts = new ArrayList<>(transactionCount);
+        for (int i = 0; i < transactionCount; i++) {
+            amounts.add(BigDecimal.valueOf(random.nextInt(1_000_000), 2));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal streamReduce() {
+        return amounts.stream().reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Benchmark
+    public BigDecimal loop() {
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : amounts) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.springboot_crm.benchmark;
+
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.entity.Transaction;
+import com.example.springboot_crm.mapper.SellerMapper;
+import com.example.springboot_crm.mapper.TransactionMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+    private final SellerMapper sellerMapper = new SellerMapper();
+    private final TransactionMapper transactionMapper = new TransactionMapper();
+
+    private Seller seller;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+
+        seller = new Seller("John Doe", "john@example.com");
+        seller.setId(1L);
+
+        transaction = new Transaction(seller, new BigDecimal("1500.00"), PaymentType.CARD);
+        transaction.setId(1L);
+        transaction.setTransactionDate(LocalDateTime.of(2024, 5, 15, 12, 0));
+    }
+
+    @Benchmark
+    public SellerDTO sellerToDTO() {
+        return sellerMapper.toDTO(seller);
+    }
+
+    @Benchmark
+    public TransactionDTO transactionToDTO() {
+        return transactionMapper.toDTO(transaction);
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.springboot_crm.benchmark;
+
+import com.example.springboot_crm.SpringbootCrmApplication;
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.mapper.SellerMapper;
+import com.example.springboot_crm.mapper.TransactionMapper;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Сравнение чтения списков через сущности и маппер с чтением сразу в DTO.
+// Запускать с профилировщиком GC: ./gradlew jmh -PjmhIncludes=ReadModelAllocationBenchmark -PjmhProfilers=gc;
+// байты на строку = gc.alloc.rate.norm / rowCount.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReadModelAllocationBenchmark {
+
+    @Param({"1000"})
+    private int rowCount;
+
+    private ConfigurableApplicationContext context;
+    private ISellerRepository iSellerRepository;
+    private ITransactionRepository iTransactionRepository;
+    private SellerMapper sellerMapper;
+    private TransactionMapper transactionMapper;
+    private TransactionTemplate readWriteTransaction;
+    private TransactionTemplate readOnlyTransaction;
+    private Long sellerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        context = new SpringApplicationBuilder(SpringbootCrmApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:read_model_benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none",
+                        "--crm.analytics-cache.enabled=false");
+        iSellerRepository = context.getBean(ISellerRepository.class);
+        iTransactionRepository = context.getBean(ITransactionRepository.class);
+        sellerMapper = context.getBean(SellerMapper.class);
+        transactionMapper = context.getBean(TransactionMapper.class);
+
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Прежний путь: сущности со снимками для проверки изменений, затем маппер.
+    @Benchmark
+    public List<TransactionDTO> transactionsBySellerAsEntities() {
+        return readWriteTransaction.execute(status -> iTransactionRepository.findBySellerId(sellerId)
+                .stream()
+                .map(transactionMapper::toDTO)
+                .toList());
+    }
+
+    // Сущности в транзакции readOnly: без снимков, но с гидратацией и маппингом.
+    @Benchmark
+    public List<TransactionDTO> transactionsBySellerAsReadOnlyEntities() {
+        return readOnlyTransaction.execute(status -> iTransactionRepository.findBySellerId(sellerId)
+                .stream()
+                .map(transactionMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TransactionDTO> transactionsBySellerAsProjection() {
+        return readOnlyTransaction.execute(status -> iTransactionRepository.findDTOsBySellerId(sellerId));
+    }
+
+    @Benchmark
+    public List<TransactionDTO> allTransactionsAsEntities() {
+        return readWriteTransaction.execute(status -> iTransactionRepository.findAll()
+                .stream()
+                .map(transactionMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TransactionDTO> allTransactionsAsProjection() {
+        return readOnlyTransaction.execute(status -> iTransactionRepository.findAllDTOs());
+    }
+
+    @Benchmark
+    public List<SellerDTO> allSellersAsEntities() {
+        return readWriteTransaction.execute(status -> iSellerRepository.findAll()
+                .stream()
+                .map(sellerMapper::toDTO)
+                .toList());
+    }
+
+    @Benchmark
+    public List<SellerDTO> allSellersAsProjection() {
+        return readOnlyTransaction.execute(status -> iSellerRepository.findAllDTOs());
+    }
+
+    // rowCount продавцов и rowCount транзакций у первого из них.
+    private void seed(JdbcTemplate jdbcTemplate) {
+
+        List<Object[]> sellers = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            sellers.add(new Object[]{"Seller " + i, "seller" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into seller (name, contact_info) values (?, ?)", sellers);
+        sellerId = jdbcTemplate.queryForObject("select min(id) from seller", Long.class);
+
+        List<Object[]> transactions = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            transactions.add(new Object[]{sellerId, BigDecimal.valueOf(i % 10_000 + 1, 2), "CARD"});
+        }
+        jdbcTemplate.batchUpdate("insert into transaction (seller_id, amount, payment_type) values (?, ?, ?)", transactions);
+    }
+}
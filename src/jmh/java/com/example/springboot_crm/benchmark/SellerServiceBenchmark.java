@@ -0,0 +1,110 @@
+package com.example.springboot_crm.benchmark;
+
+import com.example.springboot_crm.SpringbootCrmApplication;
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.service.SellerService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Вызовы сервиса целиком против встроенной H2, заполненной заданным количеством продавцов и транзакций.
+// Кэши отключены, чтобы измерялись сами запросы.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SellerServiceBenchmark {
+
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+    private static final int DAYS = 365;
+
+    @Param({"100"})
+    private int sellerCount;
+
+    @Param({"100000"})
+    private int transactionCount;
+
+    private ConfigurableApplicationContext context;
+    private SellerService sellerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        context = new SpringApplicationBuilder(SpringbootCrmApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.show-sql=false",
+                        "--spring.cache.type=none",
+                        "--crm.analytics-cache.enabled=false");
+        sellerService = context.getBean(SellerService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // Год целиком: целые дни читаются из seller_daily_sales.
+    @Benchmark
+    public SellerWithTotalAmountDTO mostProductiveSellerForYear() {
+        return sellerService.getMostProductiveSeller(FIRST_DAY.atStartOfDay(), FIRST_DAY.plusDays(DAYS).atStartOfDay().minusNanos(1000));
+    }
+
+    // Период внутри одного дня: агрегирование по таблице transaction.
+    @Benchmark
+    public SellerWithTotalAmountDTO mostProductiveSellerWithinDay() {
+        LocalDateTime day = FIRST_DAY.plusDays(DAYS / 2).atStartOfDay();
+        return sellerService.getMostProductiveSeller(day.plusHours(8), day.plusHours(20));
+    }
+
+    @Benchmark
+    public List<SellerWithTotalAmountDTO> sellersWithTotalAmountLessThanForYear() {
+        return sellerService.getSellersWithTotalAmountLessThan(BigDecimal.valueOf(1_000_000),
+                FIRST_DAY.atStartOfDay(), FIRST_DAY.plusDays(DAYS).atStartOfDay().minusNanos(1000));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+
+        List<Object[]> sellers = new ArrayList<>(sellerCount);
+        for (int i = 0; i < sellerCount; i++) {
+            sellers.add(new Object[]{"Seller " + i, "seller" + i + "@example.com"});
+        }
+        jdbcTemplate.batchUpdate("insert into seller (name, contact_info) values (?, ?)", sellers);
+        List<Long> sellerIds = jdbcTemplate.queryForList("select id from seller order by id", Long.class);
+
+        Random random = new Random(42);
+        String[] paymentTypes = {"CASH", "CARD", "TRANSFER"};
+        List<Object[]> transactions = new ArrayList<>(transactionCount);
+        for (int i = 0; i < transactionCount; i++) {
+            LocalDateTime transactionDate = FIRST_DAY.plusDays(random.nextInt(DAYS)).atStartOfDay()
+                    .plusSeconds(random.nextInt(24 * 60 * 60));
+            transactions.add(new Object[]{
+                    sellerIds.get(random.nextInt(sellerIds.size())),
+                    BigDecimal.valueOf(random.nextInt(1_000_000), 2),
+                    paymentTypes[random.nextInt(paymentTypes.length)],
+                    Timestamp.valueOf(transactionDate)
+            });
+        }
+        jdbcTemplate.batchUpdate("insert into transaction (seller_id, amount, payment_type, transaction_date) values (?, ?, ?, ?)",
+                transactions);
+
+        jdbcTemplate.update("insert into seller_daily_sales (seller_id, sales_date, payment_type, transaction_count, total_amount) " +
+                "select seller_id, cast(transaction_date as date), payment_type, count(*), sum(amount) " +
+                "from transaction group by seller_id, cast(transaction_date as date), payment_type");
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.springboot_crm.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+// Кэши создаются автоконфигурацией Spring Boot по spring.cache.* (Caffeine: размер, TTL, статистика).
+@Configuration
+@EnableCaching
+public class CacheConfiguration {
+
+    public static final String SELLERS_CACHE = "sellers";
+}
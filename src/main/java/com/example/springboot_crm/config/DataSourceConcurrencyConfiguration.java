@@ -0,0 +1,32 @@
+package com.example.springboot_crm.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Включается свойством crm.datasource.max-concurrency; рассчитано на режим виртуальных потоков.
+@Configuration
+@ConditionalOnProperty(name = "crm.datasource.max-concurrency")
+public class DataSourceConcurrencyConfiguration {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitingDataSourcePostProcessor(Environment environment) {
+
+        int maxConcurrency = environment.getRequiredProperty("crm.datasource.max-concurrency", Integer.class);
+        Duration acquireTimeout = environment.getProperty("crm.datasource.acquire-timeout", Duration.class, Duration.ofSeconds(30));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitingDataSource) && maxConcurrency > 0) {
+                    return new ConcurrencyLimitingDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.springboot_crm.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+
+// DataSource оборачивается в datasource-proxy, если объявлен хотя бы один QueryExecutionListener.
+// Так каждый JDBC-запрос, в том числе запросы JdbcTemplate в обход Hibernate, проходит через все слушатели.
+@Configuration
+public class DataSourceProxyConfiguration {
+
+    @Bean
+    public static BeanPostProcessor dataSourceProxyPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    List<QueryExecutionListener> queryListeners = listeners.orderedStream().toList();
+                    if (queryListeners.isEmpty()) {
+                        return bean;
+                    }
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource).name(beanName);
+                    queryListeners.forEach(builder::listener);
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Включается свойством crm.slow-query.threshold.
+    @Bean
+    @ConditionalOnProperty(name = "crm.slow-query.threshold")
+    public SlowQueryLogListener slowQueryLogListener(@Value("${crm.slow-query.threshold}") Duration threshold,
+                                                     @Value("${crm.slow-query.sample-rate:1.0}") double sampleRate,
+                                                     MeterRegistry meterRegistry) {
+        return new SlowQueryLogListener(threshold, sampleRate, meterRegistry);
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.springboot_crm.config;
+
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+// Тип базы данных определяется один раз при старте; используется там, где SQL зависит от СУБД.
+@Component
+public class DatabasePlatform {
+
+    private final DatabaseDriver databaseDriver;
+
+    public DatabasePlatform(DataSource dataSource) throws MetaDataAccessException {
+
+        String productName = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        this.databaseDriver = DatabaseDriver.fromProductName(productName);
+    }
+
+    public DatabaseDriver getDatabaseDriver() {
+        return databaseDriver;
+    }
+
+    public boolean isPostgreSql() {
+        return databaseDriver == DatabaseDriver.POSTGRESQL;
+    }
+
+    public boolean isH2() {
+        return databaseDriver == DatabaseDriver.H2;
+    }
+}
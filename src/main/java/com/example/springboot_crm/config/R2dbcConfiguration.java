@@ -0,0 +1,44 @@
+package com.example.springboot_crm.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// Реактивный доступ к базе для потоковой аналитики.
+// ConnectionFactory намеренно не объявляется бином: автоконфигурация DataSource отключается при его наличии,
+// а JPA и Flyway продолжают работать через JDBC. Поэтому R2dbcAutoConfiguration исключена.
+@Configuration
+public class R2dbcConfiguration implements DisposableBean {
+
+    private final ConnectionPool connectionPool;
+
+    public R2dbcConfiguration(@Value("${crm.r2dbc.url}") String url,
+                              @Value("${crm.r2dbc.username}") String username,
+                              @Value("${crm.r2dbc.password}") String password,
+                              @Value("${crm.r2dbc.pool.max-size:10}") int maxPoolSize) {
+
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .maxSize(maxPoolSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient r2dbcDatabaseClient() {
+        return DatabaseClient.create(connectionPool);
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+}
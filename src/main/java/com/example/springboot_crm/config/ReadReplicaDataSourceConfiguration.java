@@ -0,0 +1,83 @@
+package com.example.springboot_crm.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Включается свойством crm.datasource.replicas[0].url.
+// Пулы основной базы и реплик не объявляются бинами: единственный DataSource приложения - маршрутизирующий,
+// поэтому JPA, JdbcTemplate и Flyway работают через него, а обертки BeanPostProcessor применяются один раз.
+@Configuration
+@ConditionalOnProperty(name = "crm.datasource.replicas[0].url")
+@EnableConfigurationProperties(ReplicaDataSourceProperties.class)
+public class ReadReplicaDataSourceConfiguration implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private ReplicaRoutingDataSource replicaRoutingDataSource;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReplicaDataSourceProperties replicaProperties,
+                                 Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        // Автоконфигурация метрик не находит пулы за маршрутизирующим DataSource, поэтому реестр задается сразу.
+        meterRegistry.ifAvailable(primary::setMetricRegistry);
+        pools.add(primary);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<ReplicaDataSourceProperties.Replica> replicaList = replicaProperties.getReplicas();
+        for (int i = 0; i < replicaList.size(); i++) {
+            ReplicaDataSourceProperties.Replica replicaConfig = replicaList.get(i);
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicaConfig.getUrl());
+            replica.setUsername(replicaConfig.getUsername() != null ? replicaConfig.getUsername() : dataSourceProperties.determineUsername());
+            replica.setPassword(replicaConfig.getPassword() != null ? replicaConfig.getPassword() : dataSourceProperties.determinePassword());
+            replica.setMaximumPoolSize(replicaConfig.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            // Недоступная при старте реплика не должна мешать запуску приложения.
+            replica.setInitializationFailTimeout(-1);
+            meterRegistry.ifAvailable(replica::setMetricRegistry);
+            pools.add(replica);
+            replicas.put(replica.getPoolName(), replica);
+        }
+
+        replicaRoutingDataSource = new ReplicaRoutingDataSource(primary, replicas, replicaProperties.getReplicaMaxLag());
+        replicaRoutingDataSource.afterPropertiesSet();
+        replicaRoutingDataSource.checkReplicas();
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    public ReplicaRoutingDataSource getReplicaRoutingDataSource() {
+        return replicaRoutingDataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${crm.datasource.replica-health-check-interval:PT10S}")
+    public void checkReplicas() {
+        replicaRoutingDataSource.checkReplicas();
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.springboot_crm.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Транзакции readOnly направляются на исправные реплики по кругу, остальные - на основную базу.
+// Если исправных реплик нет, чтение тоже идет на основную базу.
+// Должен использоваться через LazyConnectionDataSourceProxy: признак readOnly выставляется
+// менеджером транзакций уже после того, как Hibernate запрашивает соединение.
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    // Для PostgreSQL: отставание по времени последней примененной транзакции;
+    // если все полученное уже применено, реплика считается не отстающей.
+    private static final String POSTGRESQL_REPLICA_LAG =
+            "select case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0 " +
+            "else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+
+        this.replicas = replicas.entrySet().stream()
+                .map(entry -> new Replica(entry.getKey(), entry.getValue()))
+                .toList();
+        this.maxLag = maxLag;
+
+        Map<Object, Object> targetDataSources = new HashMap<>(replicas);
+        targetDataSources.put(PRIMARY, primary);
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+
+        List<Replica> healthyReplicas = replicas.stream().filter(replica -> replica.healthy).toList();
+        if (healthyReplicas.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthyReplicas.get(Math.floorMod(nextReplica.getAndIncrement(), healthyReplicas.size())).name;
+    }
+
+    public void checkReplicas() {
+
+        for (Replica replica : replicas) {
+            try {
+                Duration lag = measureLag(replica.dataSource);
+                replica.healthy = lag.compareTo(maxLag) <= 0;
+            } catch (SQLException | RuntimeException e) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    public Map<String, Boolean> getReplicaHealth() {
+
+        Map<String, Boolean> health = new HashMap<>();
+        replicas.forEach(replica -> health.put(replica.name, replica.healthy));
+        return health;
+    }
+
+    private Duration measureLag(DataSource dataSource) throws SQLException {
+
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.getMetaData().getDatabaseProductName().equals("PostgreSQL")) {
+                // Для других баз (H2 в тестах) проверяется только доступность.
+                return connection.isValid(5) ? Duration.ZERO : Duration.ofDays(1);
+            }
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(POSTGRESQL_REPLICA_LAG)) {
+                rs.next();
+                return Duration.ofMillis((long) (rs.getDouble(1) * 1000));
+            }
+        }
+    }
+
+    private static class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
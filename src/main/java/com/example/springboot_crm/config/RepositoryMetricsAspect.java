@@ -0,0 +1,103 @@
+package com.example.springboot_crm.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Число вызовов каждого метода репозитория (crm.repository.calls) и число возвращенных строк
+// (crm.repository.rows) с тегами repository и method. Охватывает репозитории Spring Data и JDBC-репозитории.
+// Строки считаются для списков, страниц и Optional; для остальных результатов учитывается только вызов.
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<MeterKey, RepositoryMeters> meters = new ConcurrentHashMap<>();
+
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("execution(public * org.springframework.data.repository.Repository+.*(..))"
+            + " || execution(public * com.example.springboot_crm.repository..*Repository.*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        Object target = joinPoint.getTarget();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        RepositoryMeters repositoryMeters = meters.computeIfAbsent(new MeterKey(target.getClass(), method),
+                key -> createMeters(repositoryName(target), method.getName()));
+
+        repositoryMeters.calls().increment();
+        Object result = joinPoint.proceed();
+        int rows = rows(result);
+        if (rows >= 0) {
+            repositoryMeters.rows().record(rows);
+        }
+        return result;
+    }
+
+    static int rows(Object result) {
+
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private RepositoryMeters createMeters(String repository, String method) {
+
+        Counter calls = Counter.builder("crm.repository.calls")
+                .description("Repository method invocations")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry);
+        DistributionSummary rows = DistributionSummary.builder("crm.repository.rows")
+                .description("Rows returned by repository methods")
+                .baseUnit("rows")
+                .tag("repository", repository)
+                .tag("method", method)
+                .register(meterRegistry);
+        return new RepositoryMeters(calls, rows);
+    }
+
+    // Репозитории Spring Data - JDK-прокси: имя берется из интерфейса репозитория приложения.
+    private static String repositoryName(Object target) {
+
+        if (Proxy.isProxyClass(target.getClass())) {
+            for (Class<?> repositoryInterface : target.getClass().getInterfaces()) {
+                if (Repository.class.isAssignableFrom(repositoryInterface) && repositoryInterface != Repository.class) {
+                    return repositoryInterface.getSimpleName();
+                }
+            }
+        }
+        return ClassUtils.getUserClass(target).getSimpleName();
+    }
+
+    private record MeterKey(Class<?> targetClass, Method method) {
+    }
+
+    private record RepositoryMeters(Counter calls, DistributionSummary rows) {
+    }
+}
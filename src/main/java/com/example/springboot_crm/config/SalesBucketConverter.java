@@ -0,0 +1,17 @@
+package com.example.springboot_crm.config;
+
+import com.example.springboot_crm.repository.SalesBucket;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+// Параметр bucket принимается в любом регистре: hour, day, week.
+@Component
+public class SalesBucketConverter implements Converter<String, SalesBucket> {
+
+    @Override
+    public SalesBucket convert(String source) {
+        return SalesBucket.valueOf(source.trim().toUpperCase(Locale.ROOT));
+    }
+}
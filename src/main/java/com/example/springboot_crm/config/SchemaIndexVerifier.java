@@ -0,0 +1,87 @@
+package com.example.springboot_crm.config;
+
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+// Проверяет при старте, что индексы, на которые рассчитаны основные выборки, существуют.
+// Без них запросы транзакций превращаются в полный просмотр таблицы, поэтому приложение не запускается.
+@Component
+@DependsOnDatabaseInitialization
+@ConditionalOnProperty(name = "crm.schema.verify-indexes", havingValue = "true", matchIfMissing = true)
+public class SchemaIndexVerifier implements InitializingBean {
+
+    private static final List<ExpectedIndex> EXPECTED_INDEXES = List.of(
+            new ExpectedIndex("transaction", List.of("seller_id", "transaction_date")),
+            new ExpectedIndex("transaction", List.of("transaction_date", "id"))
+    );
+
+    private final DataSource dataSource;
+
+    public SchemaIndexVerifier(DataSource dataSource) {
+
+        this.dataSource = dataSource;
+    }
+
+    @Override
+    public void afterPropertiesSet() throws MetaDataAccessException {
+
+        List<ExpectedIndex> missingIndexes = JdbcUtils.extractDatabaseMetaData(dataSource, metaData -> {
+            List<ExpectedIndex> missing = new ArrayList<>();
+            for (ExpectedIndex expectedIndex : EXPECTED_INDEXES) {
+                if (!hasIndex(metaData, expectedIndex)) {
+                    missing.add(expectedIndex);
+                }
+            }
+            return missing;
+        });
+
+        if (!missingIndexes.isEmpty()) {
+            throw new IllegalStateException("Missing database indexes: " + missingIndexes
+                    + ". Apply the migrations from db/migration before starting the application");
+        }
+    }
+
+    // Индекс подходит, если его ведущие колонки совпадают с ожидаемыми; остальные колонки допускаются.
+    private boolean hasIndex(DatabaseMetaData metaData, ExpectedIndex expectedIndex) throws SQLException {
+
+        String table = metaData.storesUpperCaseIdentifiers()
+                ? expectedIndex.table().toUpperCase(Locale.ROOT)
+                : expectedIndex.table();
+
+        Map<String, SortedMap<Short, String>> indexColumns = new HashMap<>();
+        try (ResultSet rs = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (rs.next()) {
+                String indexName = rs.getString("INDEX_NAME");
+                String columnName = rs.getString("COLUMN_NAME");
+                if (indexName == null || columnName == null) {
+                    continue;
+                }
+                indexColumns.computeIfAbsent(indexName, name -> new TreeMap<>())
+                        .put(rs.getShort("ORDINAL_POSITION"), columnName.toLowerCase(Locale.ROOT));
+            }
+        }
+
+        return indexColumns.values().stream()
+                .map(columns -> new ArrayList<>(columns.values()))
+                .anyMatch(columns -> columns.size() >= expectedIndex.columns().size()
+                        && columns.subList(0, expectedIndex.columns().size()).equals(expectedIndex.columns()));
+    }
+
+    private record ExpectedIndex(String table, List<String> columns) {
+
+        @Override
+        public String toString() {
+            return table + "(" + String.join(", ", columns) + ")";
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.springboot_crm.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+// Заменяет spring.jpa.show-sql: в лог попадают только запросы дольше порога, и из них только доля sampleRate,
+// чтобы всплеск медленных запросов не превращался в поток логов. Счетчик crm.jdbc.slow-queries учитывает все.
+public class SlowQueryLogListener implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLogListener.class);
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+    private final Counter slowQueries;
+
+    public SlowQueryLogListener(Duration threshold, double sampleRate, MeterRegistry meterRegistry) {
+
+        this.thresholdMillis = threshold.toMillis();
+        this.sampleRate = sampleRate;
+        this.slowQueries = Counter.builder("crm.jdbc.slow-queries")
+                .description("JDBC statements slower than crm.slow-query.threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        if (execInfo.getElapsedTime() < thresholdMillis) {
+            return;
+        }
+        slowQueries.increment();
+        if (sampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            String sql = queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+            log.warn("Slow query ({} ms, batch size {}): {}", execInfo.getElapsedTime(), execInfo.getBatchSize(), sql);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.springboot_crm.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Бюджет JDBC-запросов на HTTP-запрос (crm.statement-budget.*). Запросы сверх бюджета попадают в лог,
+// а с crm.statement-budget.fail-on-exceed=true (в тестах) завершаются ошибкой, чтобы N+1 не проходил незамеченным.
+@Configuration
+@ConditionalOnProperty(name = "crm.statement-budget.enabled", havingValue = "true", matchIfMissing = true)
+public class StatementBudgetConfiguration {
+
+    @Bean
+    public StatementBudgetListener statementBudgetListener(@Value("${crm.statement-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        return new StatementBudgetListener(failOnExceed);
+    }
+
+    @Bean
+    public WebMvcConfigurer statementBudgetWebMvcConfigurer(StatementBudgetListener statementBudgetListener,
+                                                            MeterRegistry meterRegistry,
+                                                            @Value("${crm.statement-budget.max-statements:20}") int maxStatements) {
+
+        StatementBudgetInterceptor interceptor = new StatementBudgetInterceptor(statementBudgetListener, meterRegistry, maxStatements);
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(interceptor);
+            }
+        };
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.springboot_crm.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Число JDBC-запросов на HTTP-запрос: распределение crm.http.statements с тегом handler (Controller.method)
+// и предупреждение в лог, если запрос превысил бюджет. Тело асинхронных ответов (StreamingResponseBody)
+// выполняется в другом потоке, поэтому его запросы не учитываются.
+public class StatementBudgetInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementBudgetInterceptor.class);
+
+    private final StatementBudgetListener statementBudgetListener;
+    private final MeterRegistry meterRegistry;
+    private final int maxStatements;
+    private final Map<Method, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    public StatementBudgetInterceptor(StatementBudgetListener statementBudgetListener, MeterRegistry meterRegistry,
+                                      int maxStatements) {
+
+        this.statementBudgetListener = statementBudgetListener;
+        this.meterRegistry = meterRegistry;
+        this.maxStatements = maxStatements;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+        if (handler instanceof HandlerMethod handlerMethod) {
+            statementBudgetListener.begin(handlerName(handlerMethod), maxStatements);
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        statementBudgetListener.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return;
+        }
+        int statements = statementBudgetListener.end();
+        summaries.computeIfAbsent(handlerMethod.getMethod(), method -> DistributionSummary.builder("crm.http.statements")
+                        .description("JDBC statements executed per HTTP request")
+                        .tag("handler", handlerName(handlerMethod))
+                        .register(meterRegistry))
+                .record(statements);
+        if (statements > maxStatements) {
+            log.warn("{} {} executed {} JDBC statements, budget is {}", request.getMethod(), request.getRequestURI(),
+                    statements, maxStatements);
+        }
+    }
+
+    private static String handlerName(HandlerMethod handlerMethod) {
+        return handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.springboot_crm.config;
+
+import com.example.springboot_crm.exception.StatementBudgetExceededException;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+// Считает JDBC-запросы, выполненные потоком обработки HTTP-запроса между begin и end.
+// Пакет (executeBatch) считается одним запросом. Запросы вне begin/end, например фоновых задач, не учитываются.
+// С failOnExceed запрос сверх бюджета не выполняется, а завершается исключением.
+public class StatementBudgetListener implements QueryExecutionListener {
+
+    private static final ThreadLocal<RequestStatements> CURRENT = new ThreadLocal<>();
+
+    private final boolean failOnExceed;
+
+    public StatementBudgetListener(boolean failOnExceed) {
+        this.failOnExceed = failOnExceed;
+    }
+
+    public void begin(String handler, int budget) {
+        CURRENT.set(new RequestStatements(handler, budget));
+    }
+
+    public int end() {
+
+        RequestStatements statements = CURRENT.get();
+        CURRENT.remove();
+        return statements == null ? 0 : statements.count;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+
+        RequestStatements statements = CURRENT.get();
+        if (statements == null) {
+            return;
+        }
+        statements.count++;
+        if (failOnExceed && statements.count > statements.budget) {
+            throw new StatementBudgetExceededException(statements.handler + " exceeded the budget of "
+                    + statements.budget + " JDBC statements per request");
+        }
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    private static class RequestStatements {
+
+        private final String handler;
+        private final int budget;
+        private int count;
+
+        RequestStatements(String handler, int budget) {
+            this.handler = handler;
+            this.budget = budget;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.CacheStatsDTO;
+import com.example.springboot_crm.service.CacheStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/springboot_crm")
+public class CacheController {
+
+    private final CacheStatsService cacheStatsService;
+
+    @Autowired
+    public CacheController(CacheStatsService cacheStatsService) {
+        this.cacheStatsService = cacheStatsService;
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        List<CacheStatsDTO> cacheStats = cacheStatsService.getCacheStats();
+        return ResponseEntity.ok(cacheStats);
+    }
+}
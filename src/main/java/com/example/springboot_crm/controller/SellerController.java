@@ -1,14 +1,26 @@
 package com.example.springboot_crm.controller;
 
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.SalesHistogramBucketDTO;
 import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.SellerTotalsDTO;
 import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.repository.SalesBucket;
+import com.example.springboot_crm.service.SellerImportService;
 import com.example.springboot_crm.service.SellerService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,10 +30,20 @@ import java.util.List;
 public class SellerController {
 
     private final SellerService sellerService;
+    private final SellerImportService sellerImportService;
+    private final ObjectReader sellerCsvReader;
 
     @Autowired
-    public SellerController(SellerService sellerService) {
+    public SellerController(SellerService sellerService, SellerImportService sellerImportService) {
         this.sellerService = sellerService;
+        this.sellerImportService = sellerImportService;
+        // Столбцы сопоставляются по заголовку (name,contactInfo); пустые ячейки читаются как null.
+        this.sellerCsvReader = CsvMapper.builder()
+                .findAndAddModules()
+                .enable(CsvParser.Feature.TRIM_SPACES, CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .build()
+                .readerFor(SellerDTO.class)
+                .with(CsvSchema.emptySchema().withHeader());
     }
 
     @GetMapping("/sellers")
@@ -36,6 +58,26 @@ public class SellerController {
         return ResponseEntity.ok(sellerDTO);
     }
 
+    @GetMapping("/sellers/{id}/totals")
+    public ResponseEntity<SellerTotalsDTO> getSellerTotals(@PathVariable Long id) {
+        SellerTotalsDTO sellerTotals = sellerService.getSellerTotals(id);
+        return ResponseEntity.ok(sellerTotals);
+    }
+
+    @GetMapping("/sellers/{id}/sales/histogram")
+    public ResponseEntity<List<SalesHistogramBucketDTO>> getSellerSalesHistogram(@PathVariable Long id, @RequestParam(defaultValue = "day") SalesBucket bucket,
+                                                                                 @RequestParam LocalDateTime start, @RequestParam LocalDateTime end) {
+        List<SalesHistogramBucketDTO> histogram = sellerService.getSalesHistogram(id, bucket, start, end);
+        return ResponseEntity.ok(histogram);
+    }
+
+    @GetMapping("/sellers/sales/histogram")
+    public ResponseEntity<List<SalesHistogramBucketDTO>> getSalesHistogram(@RequestParam(defaultValue = "day") SalesBucket bucket,
+                                                                           @RequestParam LocalDateTime start, @RequestParam LocalDateTime end) {
+        List<SalesHistogramBucketDTO> histogram = sellerService.getSalesHistogram(null, bucket, start, end);
+        return ResponseEntity.ok(histogram);
+    }
+
     @GetMapping("/sellers/mostProductive")
     public ResponseEntity<SellerWithTotalAmountDTO> getMostProductiveSeller(@RequestParam LocalDateTime start, @RequestParam LocalDateTime end) {
         SellerWithTotalAmountDTO seller = sellerService.getMostProductiveSeller(start, end);
@@ -54,6 +96,14 @@ public class SellerController {
         return new ResponseEntity<>(createdSeller, HttpStatus.CREATED);
     }
 
+    @PostMapping(value = "/sellers/import", consumes = "text/csv")
+    public ResponseEntity<BulkIngestResultDTO> importSellers(InputStream body) throws IOException {
+        try (MappingIterator<SellerDTO> sellers = sellerCsvReader.readValues(body)) {
+            BulkIngestResultDTO result = sellerImportService.importSellers(sellers);
+            return ResponseEntity.ok(result);
+        }
+    }
+
     @PutMapping(path = "/sellers/{id}")
     public ResponseEntity<SellerDTO> updateSeller(@PathVariable Long id, @Valid @RequestBody SellerDTO sellerDTO) {
         SellerDTO updatedSeller = sellerService.updateSeller(id, sellerDTO);
@@ -0,0 +1,32 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.LeaderboardEntryDTO;
+import com.example.springboot_crm.service.LeaderboardPeriod;
+import com.example.springboot_crm.service.SellerLeaderboard;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("api/springboot_crm")
+public class SellerLeaderboardController {
+
+    private final SellerLeaderboard sellerLeaderboard;
+
+    @Autowired
+    public SellerLeaderboardController(SellerLeaderboard sellerLeaderboard) {
+        this.sellerLeaderboard = sellerLeaderboard;
+    }
+
+    @GetMapping("/sellers/leaderboard")
+    public ResponseEntity<List<LeaderboardEntryDTO>> getLeaderboard(@RequestParam(defaultValue = "DAY") LeaderboardPeriod period,
+                                                                    @RequestParam(defaultValue = "10") int limit) {
+        List<LeaderboardEntryDTO> leaderboard = sellerLeaderboard.getTopSellers(period, limit);
+        return ResponseEntity.ok(leaderboard);
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.service.SellerReactiveService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Реактивные версии аналитических запросов: поток запроса не занят на время чтения из базы,
+// а строки NDJSON отправляются клиенту по мере получения.
+@RestController
+@RequestMapping("api/springboot_crm/reactive")
+public class SellerReactiveController {
+
+    private final SellerReactiveService sellerReactiveService;
+
+    @Autowired
+    public SellerReactiveController(SellerReactiveService sellerReactiveService) {
+        this.sellerReactiveService = sellerReactiveService;
+    }
+
+    @GetMapping("/sellers/mostProductive")
+    public Mono<SellerWithTotalAmountDTO> getMostProductiveSeller(@RequestParam LocalDateTime start, @RequestParam LocalDateTime end) {
+        return sellerReactiveService.getMostProductiveSeller(start, end);
+    }
+
+    @GetMapping(value = "/sellers/withTotalAmountLessThan", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<SellerWithTotalAmountDTO> getSellersWithTotalAmountLessThan(@RequestParam BigDecimal amount, @RequestParam LocalDateTime start, @RequestParam LocalDateTime end) {
+        return sellerReactiveService.getSellersWithTotalAmountLessThan(amount, start, end);
+    }
+}
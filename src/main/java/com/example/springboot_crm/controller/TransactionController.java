@@ -1,25 +1,50 @@
 package com.example.springboot_crm.controller;
 
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
 import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.TransactionPageDTO;
+import com.example.springboot_crm.service.TransactionCsvWriter;
+import com.example.springboot_crm.service.TransactionIngestService;
 import com.example.springboot_crm.service.TransactionService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("api/springboot_crm")
 public class TransactionController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
     private final TransactionService transactionService;
+    private final TransactionIngestService transactionIngestService;
+    private final ObjectWriter transactionWriter;
+    private final ObjectReader transactionReader;
 
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransactionIngestService transactionIngestService, ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.transactionIngestService = transactionIngestService;
+        this.transactionWriter = objectMapper.writerFor(TransactionDTO.class);
+        this.transactionReader = objectMapper.readerFor(TransactionDTO.class);
     }
 
     @GetMapping("/transactions")
@@ -28,6 +53,45 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
 
+    @GetMapping("/transactions/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsPage(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "100") int size) {
+        TransactionPageDTO page = transactionService.getTransactionsPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/transactions/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTransactions() {
+        StreamingResponseBody body = outputStream -> transactionService.streamAllTransactions(transaction -> {
+            try {
+                outputStream.write(transactionWriter.writeValueAsBytes(transaction));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Выгрузка за период [start, end] строками прямо из курсора JDBC: память не зависит от числа транзакций.
+    @GetMapping("/transactions/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(@RequestParam LocalDateTime start, @RequestParam LocalDateTime end,
+                                                                    @RequestParam(required = false) Long sellerId,
+                                                                    @RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = outputStream -> {
+            try (TransactionCsvWriter writer = new TransactionCsvWriter(outputStream, gzip)) {
+                transactionService.exportTransactions(start, end, sellerId, writer::write);
+            }
+        };
+        String fileName = gzip ? "transactions.csv.gz" : "transactions.csv";
+        return ResponseEntity.ok()
+                .contentType(gzip ? APPLICATION_GZIP : TEXT_CSV)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
     @GetMapping("/transactions/{id}")
     public ResponseEntity<TransactionDTO> getTransactionById(@PathVariable Long id) {
         TransactionDTO transactionDTO = transactionService.getTransactionById(id);
@@ -45,4 +109,13 @@ public class TransactionController {
         TransactionDTO createdTransaction = transactionService.createTransaction(sellerId, transactionDTO);
         return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
     }
+
+    // Принимает как JSON-массив, так и NDJSON: тело читается потоком, по одной транзакции.
+    @PostMapping(value = "/transactions/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkIngestResultDTO> createTransactions(InputStream body) throws IOException {
+        try (MappingIterator<TransactionDTO> transactions = transactionReader.readValues(body)) {
+            BulkIngestResultDTO result = transactionIngestService.ingestTransactions(transactions);
+            return ResponseEntity.ok(result);
+        }
+    }
 }
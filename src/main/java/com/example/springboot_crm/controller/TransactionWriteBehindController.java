@@ -0,0 +1,38 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.WriteBehindStatusDTO;
+import com.example.springboot_crm.service.TransactionWriteBehindQueue;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+// Фоновая запись транзакций: 202 с идентификатором сразу после записи в журнал, статус - по отдельному запросу.
+@RestController
+@RequestMapping("api/springboot_crm")
+@ConditionalOnProperty(name = "crm.write-behind.enabled", havingValue = "true")
+public class TransactionWriteBehindController {
+
+    private final TransactionWriteBehindQueue transactionWriteBehindQueue;
+
+    @Autowired
+    public TransactionWriteBehindController(TransactionWriteBehindQueue transactionWriteBehindQueue) {
+        this.transactionWriteBehindQueue = transactionWriteBehindQueue;
+    }
+
+    @PostMapping("/transactions/async")
+    public ResponseEntity<WriteBehindStatusDTO> createTransactionAsync(@RequestParam Long sellerId, @Valid @RequestBody TransactionDTO transactionDTO) {
+        WriteBehindStatusDTO status = transactionWriteBehindQueue.enqueue(sellerId, transactionDTO);
+        return ResponseEntity.accepted().body(status);
+    }
+
+    @GetMapping("/transactions/async/{id}")
+    public ResponseEntity<WriteBehindStatusDTO> getTransactionAsyncStatus(@PathVariable UUID id) {
+        WriteBehindStatusDTO status = transactionWriteBehindQueue.getStatus(id);
+        return ResponseEntity.ok(status);
+    }
+}
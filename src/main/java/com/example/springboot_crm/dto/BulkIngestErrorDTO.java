@@ -0,0 +1,33 @@
+package com.example.springboot_crm.dto;
+
+public class BulkIngestErrorDTO {
+
+    private int index;
+
+    private String message;
+
+
+    public BulkIngestErrorDTO() {
+    }
+
+    public BulkIngestErrorDTO(int index, String message) {
+        this.index = index;
+        this.message = message;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.springboot_crm.dto;
+
+import java.util.List;
+
+public class BulkIngestResultDTO {
+
+    private int received;
+
+    private int accepted;
+
+    private List<BulkIngestErrorDTO> errors;
+
+
+    public BulkIngestResultDTO() {
+    }
+
+    public BulkIngestResultDTO(int received, int accepted, List<BulkIngestErrorDTO> errors) {
+        this.received = received;
+        this.accepted = accepted;
+        this.errors = errors;
+    }
+
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getAccepted() {
+        return accepted;
+    }
+
+    public void setAccepted(int accepted) {
+        this.accepted = accepted;
+    }
+
+    public List<BulkIngestErrorDTO> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<BulkIngestErrorDTO> errors) {
+        this.errors = errors;
+    }
+}
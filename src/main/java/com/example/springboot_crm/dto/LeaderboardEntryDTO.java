@@ -0,0 +1,46 @@
+package com.example.springboot_crm.dto;
+
+import java.math.BigDecimal;
+
+public class LeaderboardEntryDTO {
+
+    private int rank;
+
+    private Long sellerId;
+
+    private BigDecimal totalAmount;
+
+
+    public LeaderboardEntryDTO() {
+    }
+
+    public LeaderboardEntryDTO(int rank, Long sellerId, BigDecimal totalAmount) {
+        this.rank = rank;
+        this.sellerId = sellerId;
+        this.totalAmount = totalAmount;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public void setRank(int rank) {
+        this.rank = rank;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.springboot_crm.dto;
+
+import com.example.springboot_crm.entity.PaymentType;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class SalesHistogramBucketDTO {
+
+    private LocalDateTime bucketStart;
+
+    private PaymentType paymentType;
+
+    private long transactionCount;
+
+    private BigDecimal totalAmount;
+
+
+    public SalesHistogramBucketDTO() {
+    }
+
+    public SalesHistogramBucketDTO(LocalDateTime bucketStart, PaymentType paymentType, long transactionCount, BigDecimal totalAmount) {
+        this.bucketStart = bucketStart;
+        this.paymentType = paymentType;
+        this.transactionCount = transactionCount;
+        this.totalAmount = totalAmount;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public PaymentType getPaymentType() {
+        return paymentType;
+    }
+
+    public void setPaymentType(PaymentType paymentType) {
+        this.paymentType = paymentType;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+}
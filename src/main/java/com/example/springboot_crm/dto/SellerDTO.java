@@ -1,6 +1,7 @@
 package com.example.springboot_crm.dto;
 
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -10,9 +11,11 @@ public class SellerDTO {
     private Long id;
 
     @NotNull
+    @Size(max = 30)
     private String name;
 
     @NotNull
+    @Size(max = 30)
     private String contactInfo;
 
     private LocalDateTime registrationDate;
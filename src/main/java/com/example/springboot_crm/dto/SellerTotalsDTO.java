@@ -0,0 +1,49 @@
+package com.example.springboot_crm.dto;
+
+import com.example.springboot_crm.entity.PaymentType;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+public class SellerTotalsDTO {
+
+    private Long sellerId;
+
+    private BigDecimal totalAmount;
+
+    private Map<PaymentType, BigDecimal> amountByPaymentType;
+
+
+    public SellerTotalsDTO() {
+    }
+
+    public SellerTotalsDTO(Long sellerId, BigDecimal totalAmount, Map<PaymentType, BigDecimal> amountByPaymentType) {
+        this.sellerId = sellerId;
+        this.totalAmount = totalAmount;
+        this.amountByPaymentType = amountByPaymentType;
+    }
+
+    public Long getSellerId() {
+        return sellerId;
+    }
+
+    public void setSellerId(Long sellerId) {
+        this.sellerId = sellerId;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public void setTotalAmount(BigDecimal totalAmount) {
+        this.totalAmount = totalAmount;
+    }
+
+    public Map<PaymentType, BigDecimal> getAmountByPaymentType() {
+        return amountByPaymentType;
+    }
+
+    public void setAmountByPaymentType(Map<PaymentType, BigDecimal> amountByPaymentType) {
+        this.amountByPaymentType = amountByPaymentType;
+    }
+}
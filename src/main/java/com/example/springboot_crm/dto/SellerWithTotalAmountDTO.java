@@ -28,6 +28,14 @@ public class SellerWithTotalAmountDTO {
         this.totalTransactionAmount = totalTransactionAmount;
     }
 
+    public SellerWithTotalAmountDTO(Long id, String name, String contactInfo, LocalDateTime registrationDate, BigDecimal totalTransactionAmount) {
+        this.id = id;
+        this.name = name;
+        this.contactInfo = contactInfo;
+        this.registrationDate = registrationDate;
+        this.totalTransactionAmount = totalTransactionAmount;
+    }
+
     public Long getId() {
         return id;
     }
@@ -0,0 +1,52 @@
+package com.example.springboot_crm.dto;
+
+import java.util.UUID;
+
+public class WriteBehindStatusDTO {
+
+    public enum Status {
+        PENDING,
+        WRITTEN,
+        FAILED
+    }
+
+    private UUID id;
+
+    private Status status;
+
+    private String error;
+
+
+    public WriteBehindStatusDTO() {
+    }
+
+    public WriteBehindStatusDTO(UUID id, Status status, String error) {
+        this.id = id;
+        this.status = status;
+        this.error = error;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.springboot_crm.entity;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.factory.spi.CustomIdGeneratorCreationContext;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.lang.reflect.Member;
+import java.util.Properties;
+
+// Pooled-последовательность для @PooledSequence. Шаг (allocationSize) задается настройкой Hibernate из allocationSizeSetting,
+// без настройки используется incrementSize из аннотации. Шаг должен совпадать с increment by последовательности
+// в базе: Hibernate проверяет это при запуске.
+public class ConfigurableSequenceGenerator extends SequenceStyleGenerator {
+
+    private final PooledSequence config;
+
+    public ConfigurableSequenceGenerator(PooledSequence config, Member idMember, CustomIdGeneratorCreationContext creationContext) {
+
+        this.config = config;
+        configure(creationContext.getProperty().getType(), new Properties(), creationContext.getServiceRegistry());
+    }
+
+    // Hibernate может вызвать configure повторно со своими параметрами: имя и шаг все равно берутся из аннотации.
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) throws MappingException {
+
+        parameters.setProperty(SEQUENCE_PARAM, config.sequenceName());
+        parameters.setProperty(INCREMENT_PARAM, Integer.toString(config.incrementSize()));
+        if (!config.allocationSizeSetting().isEmpty()) {
+            Object allocationSize = serviceRegistry.requireService(ConfigurationService.class).getSettings()
+                    .get(config.allocationSizeSetting());
+            if (allocationSize != null) {
+                parameters.setProperty(INCREMENT_PARAM, allocationSize.toString().trim());
+            }
+        }
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.springboot_crm.entity;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Идентификатор из pooled-последовательности. incrementSize должен совпадать с increment by последовательности в базе;
+// allocationSizeSetting - имя настройки Hibernate, которая переопределяет шаг, например crm.ids.seller.allocation-size.
+@IdGeneratorType(ConfigurableSequenceGenerator.class)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD})
+public @interface PooledSequence {
+
+    String sequenceName();
+
+    int incrementSize();
+
+    String allocationSizeSetting() default "";
+}
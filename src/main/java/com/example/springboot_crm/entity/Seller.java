@@ -9,7 +9,7 @@ import java.time.LocalDateTime;
 public class Seller {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(sequenceName = "seller_id_seq", incrementSize = 20, allocationSizeSetting = "crm.ids.seller.allocation-size")
     @Column(name = "id", nullable = false)
     private Long id;
 
@@ -10,7 +10,7 @@ import java.time.LocalDateTime;
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(sequenceName = "transaction_id_seq", incrementSize = 100, allocationSizeSetting = "crm.ids.transaction.allocation-size")
     @Column(name = "id", nullable = false)
     private Long id;
 
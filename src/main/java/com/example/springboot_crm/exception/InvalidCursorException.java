@@ -0,0 +1,7 @@
+package com.example.springboot_crm.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,8 +1,22 @@
 package com.example.springboot_crm.repository;
 
+import com.example.springboot_crm.dto.SellerDTO;
 import com.example.springboot_crm.entity.Seller;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 @Repository
-public interface ISellerRepository extends JpaRepository<Seller, Long> { }
+public interface ISellerRepository extends JpaRepository<Seller, Long> {
+
+    // Список продавцов читается сразу в DTO, без сущностей и их снимков в контексте.
+    @Query("select new com.example.springboot_crm.dto.SellerDTO(s.id, s.name, s.contactInfo, s.registrationDate) from Seller s")
+    List<SellerDTO> findAllDTOs();
+
+    @Query("select s.id from Seller s where s.id in :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
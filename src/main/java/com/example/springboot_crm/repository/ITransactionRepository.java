@@ -1,16 +1,69 @@
 package com.example.springboot_crm.repository;
 
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
 import com.example.springboot_crm.entity.Seller;
 import com.example.springboot_crm.entity.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ITransactionRepository extends JpaRepository<Transaction, Long> {
+
+    // Списки транзакций читаются сразу в DTO: seller_id берется из внешнего ключа, сущности не загружаются.
+    String TRANSACTION_DTO_SELECT = "select new com.example.springboot_crm.dto.TransactionDTO(" +
+            "t.id, t.seller.id, t.amount, t.paymentType, t.transactionDate) from Transaction t ";
+
     List<Transaction> findBySellerId(Long sellerId);
     List<Transaction> findBySellerAndTransactionDateBetween(Seller seller, LocalDateTime start, LocalDateTime end);
+
+    @Query(TRANSACTION_DTO_SELECT)
+    List<TransactionDTO> findAllDTOs();
+
+    @Query(TRANSACTION_DTO_SELECT + "where t.id = :id")
+    Optional<TransactionDTO> findDTOById(@Param("id") Long id);
+
+    @Query(TRANSACTION_DTO_SELECT + "where t.seller.id = :sellerId")
+    List<TransactionDTO> findDTOsBySellerId(@Param("sellerId") Long sellerId);
+
+    @Query(TRANSACTION_DTO_SELECT + "order by t.transactionDate, t.id")
+    List<TransactionDTO> findFirstPage(Pageable pageable);
+
+    @Query(TRANSACTION_DTO_SELECT +
+            "where t.transactionDate > :transactionDate or (t.transactionDate = :transactionDate and t.id > :id) " +
+            "order by t.transactionDate, t.id")
+    List<TransactionDTO> findPageAfter(@Param("transactionDate") LocalDateTime transactionDate,
+                                       @Param("id") Long id,
+                                       Pageable pageable);
+
+    // Продавцы без транзакций в периоде попадают в выборку с суммой 0, как и при подсчете по каждому продавцу.
+    @Query("select new com.example.springboot_crm.dto.SellerWithTotalAmountDTO(" +
+            "s.id, s.name, s.contactInfo, s.registrationDate, coalesce(sum(t.amount), 0)) " +
+            "from Seller s left join Transaction t on t.seller = s and t.transactionDate between :start and :end " +
+            "group by s.id, s.name, s.contactInfo, s.registrationDate " +
+            "order by coalesce(sum(t.amount), 0) desc, s.id")
+    List<SellerWithTotalAmountDTO> findSellersOrderByTotalAmountDesc(@Param("start") LocalDateTime start,
+                                                                     @Param("end") LocalDateTime end,
+                                                                     Pageable pageable);
+
+    @Query("select new com.example.springboot_crm.dto.SellerWithTotalAmountDTO(" +
+            "s.id, s.name, s.contactInfo, s.registrationDate, coalesce(sum(t.amount), 0)) " +
+            "from Seller s left join Transaction t on t.seller = s and t.transactionDate between :start and :end " +
+            "where s.id > :afterSellerId " +
+            "group by s.id, s.name, s.contactInfo, s.registrationDate " +
+            "having coalesce(sum(t.amount), 0) < :amount " +
+            "order by s.id")
+    List<SellerWithTotalAmountDTO> findSellersWithTotalAmountLessThan(@Param("amount") BigDecimal amount,
+                                                                      @Param("start") LocalDateTime start,
+                                                                      @Param("end") LocalDateTime end,
+                                                                      @Param("afterSellerId") Long afterSellerId,
+                                                                      Pageable pageable);
 }
@@ -0,0 +1,32 @@
+package com.example.springboot_crm.repository;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+// Интервал гистограммы продаж. Начало интервала совпадает с date_trunc в PostgreSQL: неделя начинается с понедельника.
+public enum SalesBucket {
+
+    HOUR("hour"),
+    DAY("day"),
+    WEEK("week");
+
+    private final String dateTruncField;
+
+    SalesBucket(String dateTruncField) {
+        this.dateTruncField = dateTruncField;
+    }
+
+    public String getDateTruncField() {
+        return dateTruncField;
+    }
+
+    public LocalDateTime startOf(LocalDateTime dateTime) {
+        return switch (this) {
+            case HOUR -> dateTime.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> dateTime.truncatedTo(ChronoUnit.DAYS);
+            case WEEK -> dateTime.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+}
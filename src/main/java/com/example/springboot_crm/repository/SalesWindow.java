@@ -0,0 +1,31 @@
+package com.example.springboot_crm.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Разбиение периода [start, end] на целые дни, которые читаются из seller_daily_sales,
+// и неполные дни по краям: [start, headEnd) и [tailStart, end], которые читаются из transaction.
+public record SalesWindow(LocalDateTime start, LocalDateTime end, LocalDate firstFullDay, LocalDate lastFullDayExclusive) {
+
+    public static SalesWindow of(LocalDateTime start, LocalDateTime end) {
+
+        LocalDate firstFullDay = start.toLocalTime().equals(LocalTime.MIDNIGHT)
+                ? start.toLocalDate()
+                : start.toLocalDate().plusDays(1);
+        LocalDate lastFullDayExclusive = end.toLocalDate();
+        return new SalesWindow(start, end, firstFullDay, lastFullDayExclusive);
+    }
+
+    public boolean hasFullDays() {
+        return firstFullDay.isBefore(lastFullDayExclusive);
+    }
+
+    public LocalDateTime headEnd() {
+        return hasFullDays() ? firstFullDay.atStartOfDay() : end;
+    }
+
+    public LocalDateTime tailStart() {
+        return hasFullDays() ? lastFullDayExclusive.atStartOfDay() : end;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.springboot_crm.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+// Сумма продаж продавца за день по всем способам оплаты.
+public record SellerDailyTotal(long sellerId, LocalDate salesDate, BigDecimal totalAmount) {
+}
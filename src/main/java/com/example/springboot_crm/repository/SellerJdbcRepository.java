@@ -0,0 +1,95 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.config.DatabasePlatform;
+import com.example.springboot_crm.dto.SellerDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class SellerJdbcRepository {
+
+    // Идентификаторы выдаются так же, как pooled-оптимизатор Hibernate: одно обращение к последовательности
+    // дает блок из allocationSize id ниже полученного значения. Блоки импорта и Hibernate не пересекаются.
+    // Id строки, которая обновила существующего продавца, не используется: на каждую строку тратится не больше одного id.
+    private static final String NEXT_IDS_POSTGRESQL =
+            "select nextval('seller_id_seq') from generate_series(1, ?)";
+    private static final String NEXT_ID_H2 =
+            "select next value for seller_id_seq";
+    private static final String UPSERT_POSTGRESQL =
+            "insert into seller (id, name, contact_info) values (?, ?, ?) " +
+            "on conflict (contact_info) do update set name = excluded.name";
+    // merge с key обновил бы и id существующей строки, поэтому id передается только во вставку.
+    private static final String UPSERT_H2 =
+            "merge into seller s using (select cast(? as bigint) as id, cast(? as varchar(30)) as name, " +
+            "cast(? as varchar(30)) as contact_info) v on s.contact_info = v.contact_info " +
+            "when matched then update set s.name = v.name " +
+            "when not matched then insert (id, name, contact_info) values (v.id, v.name, v.contact_info)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean h2;
+    private final int allocationSize;
+    private final String upsertSql;
+
+    public SellerJdbcRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform,
+                                @Value("${spring.jpa.properties.crm.ids.seller.allocation-size:20}") int allocationSize) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.h2 = databasePlatform.isH2();
+        this.allocationSize = allocationSize;
+        this.upsertSql = h2 ? UPSERT_H2 : UPSERT_POSTGRESQL;
+    }
+
+    // Одна пакетная команда на всю пачку и одно обращение к последовательности на allocationSize строк.
+    // Каждая строка - отдельный upsert, поэтому повторы contact_info внутри пачки допустимы: выигрывает последняя строка.
+    public void upsertAll(List<SellerDTO> sellers) {
+
+        List<Long> ids = allocateIds(sellers.size());
+        jdbcTemplate.batchUpdate(upsertSql, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, ids.get(i));
+                ps.setString(2, sellers.get(i).getName());
+                ps.setString(3, sellers.get(i).getContactInfo());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return sellers.size();
+            }
+        });
+    }
+
+    // Как и у Hibernate, блок не опускается ниже 1: у новой последовательности первое значение равно 1.
+    private List<Long> allocateIds(int count) {
+
+        List<Long> ids = new ArrayList<>(count);
+        while (ids.size() < count) {
+            int blocks = (count - ids.size() + allocationSize - 1) / allocationSize;
+            for (long hi : nextHiValues(blocks)) {
+                for (long id = Math.max(1, hi - allocationSize + 1); id <= hi && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+        }
+        return ids;
+    }
+
+    private List<Long> nextHiValues(int blocks) {
+
+        if (!h2) {
+            return jdbcTemplate.queryForList(NEXT_IDS_POSTGRESQL, Long.class, blocks);
+        }
+        List<Long> hiValues = new ArrayList<>(blocks);
+        for (int i = 0; i < blocks; i++) {
+            hiValues.add(jdbcTemplate.queryForObject(NEXT_ID_H2, Long.class));
+        }
+        return hiValues;
+    }
+}
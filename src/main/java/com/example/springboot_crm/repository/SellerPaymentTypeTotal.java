@@ -0,0 +1,9 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.entity.PaymentType;
+
+import java.math.BigDecimal;
+
+// Сумма всех продаж продавца одним способом оплаты.
+public record SellerPaymentTypeTotal(long sellerId, PaymentType paymentType, BigDecimal totalAmount) {
+}
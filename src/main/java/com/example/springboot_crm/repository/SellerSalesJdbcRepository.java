@@ -0,0 +1,157 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.config.DatabasePlatform;
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class SellerSalesJdbcRepository {
+
+    // Целые дни берутся из seller_daily_sales, неполные дни по краям периода - из transaction.
+    private static final String SELLER_TOTALS =
+            "select s.id, s.name, s.contact_info, s.registration_date, coalesce(sum(x.amount), 0) as total_amount " +
+            "from seller s " +
+            "left join (" +
+            "    select d.seller_id, d.total_amount as amount " +
+            "    from seller_daily_sales d " +
+            "    where d.sales_date >= ? and d.sales_date < ? " +
+            "    union all " +
+            "    select t.seller_id, t.amount " +
+            "    from transaction t " +
+            "    where (t.transaction_date >= ? and t.transaction_date < ?) " +
+            "       or (t.transaction_date >= ? and t.transaction_date <= ?)" +
+            ") x on x.seller_id = s.id ";
+
+    private static final String MOST_PRODUCTIVE_SELLER = SELLER_TOTALS +
+            "group by s.id, s.name, s.contact_info, s.registration_date " +
+            "order by total_amount desc, s.id " +
+            "limit 1";
+
+    private static final String SELLERS_WITH_TOTAL_AMOUNT_LESS_THAN = SELLER_TOTALS +
+            "where s.id > ? " +
+            "group by s.id, s.name, s.contact_info, s.registration_date " +
+            "having coalesce(sum(x.amount), 0) < ? " +
+            "order by s.id " +
+            "limit ?";
+
+    private static final String DAILY_TOTALS_SINCE =
+            "select seller_id, sales_date, sum(total_amount) as total_amount " +
+            "from seller_daily_sales " +
+            "where sales_date >= ? " +
+            "group by seller_id, sales_date";
+
+    private static final String PAYMENT_TYPE_TOTALS =
+            "select seller_id, payment_type, sum(total_amount) as total_amount " +
+            "from seller_daily_sales ";
+
+    private static final String PAYMENT_TYPE_TOTALS_GROUP_BY = "group by seller_id, payment_type";
+
+    // Прибавление продаж к дневному агрегату одной командой: первая продажа дня создает строку,
+    // следующие увеличивают ее. Отдельные update и insert не атомарны и ломаются на параллельных первых продажах.
+    private static final String ADD_DAILY_SALES_POSTGRESQL =
+            "insert into seller_daily_sales (seller_id, sales_date, payment_type, transaction_count, total_amount) " +
+            "values (?, ?, ?, ?, ?) " +
+            "on conflict (seller_id, sales_date, payment_type) do update set " +
+            "transaction_count = seller_daily_sales.transaction_count + excluded.transaction_count, " +
+            "total_amount = seller_daily_sales.total_amount + excluded.total_amount";
+    // merge ... key в H2 заменяет значения, а не прибавляет, поэтому используется стандартный merge ... using.
+    private static final String ADD_DAILY_SALES_H2 =
+            "merge into seller_daily_sales d " +
+            "using (select cast(? as bigint) as seller_id, cast(? as date) as sales_date, cast(? as varchar(10)) as payment_type, " +
+            "       cast(? as bigint) as transaction_count, cast(? as decimal(19, 2)) as total_amount) s " +
+            "on d.seller_id = s.seller_id and d.sales_date = s.sales_date and d.payment_type = s.payment_type " +
+            "when matched then update set " +
+            "  transaction_count = d.transaction_count + s.transaction_count, total_amount = d.total_amount + s.total_amount " +
+            "when not matched then insert (seller_id, sales_date, payment_type, transaction_count, total_amount) " +
+            "  values (s.seller_id, s.sales_date, s.payment_type, s.transaction_count, s.total_amount)";
+
+    private static final RowMapper<SellerPaymentTypeTotal> SELLER_PAYMENT_TYPE_TOTAL_ROW_MAPPER = (rs, rowNum) ->
+            new SellerPaymentTypeTotal(
+                    rs.getLong("seller_id"),
+                    PaymentType.valueOf(rs.getString("payment_type")),
+                    rs.getBigDecimal("total_amount")
+            );
+
+    private static final RowMapper<SellerWithTotalAmountDTO> SELLER_WITH_TOTAL_AMOUNT_ROW_MAPPER = (rs, rowNum) ->
+            new SellerWithTotalAmountDTO(
+                    rs.getLong("id"),
+                    rs.getString("name"),
+                    rs.getString("contact_info"),
+                    rs.getObject("registration_date", LocalDateTime.class),
+                    rs.getBigDecimal("total_amount")
+            );
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    public SellerSalesJdbcRepository(JdbcTemplate jdbcTemplate, DatabasePlatform databasePlatform) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.databasePlatform = databasePlatform;
+    }
+
+    public Optional<SellerWithTotalAmountDTO> findMostProductiveSeller(SalesWindow window) {
+
+        return jdbcTemplate.query(MOST_PRODUCTIVE_SELLER, SELLER_WITH_TOTAL_AMOUNT_ROW_MAPPER,
+                        window.firstFullDay(), window.lastFullDayExclusive(),
+                        window.start(), window.headEnd(),
+                        window.tailStart(), window.end())
+                .stream()
+                .findFirst();
+    }
+
+    public List<SellerWithTotalAmountDTO> findSellersWithTotalAmountLessThan(BigDecimal amount, SalesWindow window, Long afterSellerId, int limit) {
+
+        return jdbcTemplate.query(SELLERS_WITH_TOTAL_AMOUNT_LESS_THAN, SELLER_WITH_TOTAL_AMOUNT_ROW_MAPPER,
+                window.firstFullDay(), window.lastFullDayExclusive(),
+                window.start(), window.headEnd(),
+                window.tailStart(), window.end(),
+                afterSellerId, amount, limit);
+    }
+
+    public List<SellerDailyTotal> findDailyTotalsSince(LocalDate from) {
+
+        return jdbcTemplate.query(DAILY_TOTALS_SINCE, (rs, rowNum) -> new SellerDailyTotal(
+                        rs.getLong("seller_id"),
+                        rs.getObject("sales_date", LocalDate.class),
+                        rs.getBigDecimal("total_amount")),
+                from);
+    }
+
+    public List<SellerPaymentTypeTotal> findPaymentTypeTotals() {
+
+        return jdbcTemplate.query(PAYMENT_TYPE_TOTALS + PAYMENT_TYPE_TOTALS_GROUP_BY, SELLER_PAYMENT_TYPE_TOTAL_ROW_MAPPER);
+    }
+
+    public List<SellerPaymentTypeTotal> findPaymentTypeTotals(Long sellerId) {
+
+        return jdbcTemplate.query(PAYMENT_TYPE_TOTALS + "where seller_id = ? " + PAYMENT_TYPE_TOTALS_GROUP_BY,
+                SELLER_PAYMENT_TYPE_TOTAL_ROW_MAPPER, sellerId);
+    }
+
+    public void addDailySales(Long sellerId, LocalDate salesDate, PaymentType paymentType, long transactionCount, BigDecimal amount) {
+
+        if (databasePlatform.isPostgreSql()) {
+            jdbcTemplate.update(ADD_DAILY_SALES_POSTGRESQL, sellerId, salesDate, paymentType.name(), transactionCount, amount);
+            return;
+        }
+
+        try {
+            jdbcTemplate.update(ADD_DAILY_SALES_H2, sellerId, salesDate, paymentType.name(), transactionCount, amount);
+        } catch (DuplicateKeyException e) {
+            // merge в H2 не блокирует отсутствующую строку: параллельная первая продажа могла вставить ее раньше.
+            // Ошибка откатывает только эту команду, повтор находит строку и прибавляет к ней.
+            jdbcTemplate.update(ADD_DAILY_SALES_H2, sellerId, salesDate, paymentType.name(), transactionCount, amount);
+        }
+    }
+}
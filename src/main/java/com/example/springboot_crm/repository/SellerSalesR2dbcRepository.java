@@ -0,0 +1,90 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Те же выборки, что и в SellerSalesJdbcRepository, но строки отдаются по мере чтения из базы
+// и с учетом запрошенного подписчиком количества.
+@Repository
+public class SellerSalesR2dbcRepository {
+
+    private static final String SELLER_TOTALS =
+            "select s.id, s.name, s.contact_info, s.registration_date, coalesce(sum(x.amount), 0) as total_amount " +
+            "from seller s " +
+            "left join (" +
+            "    select d.seller_id, d.total_amount as amount " +
+            "    from seller_daily_sales d " +
+            "    where d.sales_date >= :firstFullDay and d.sales_date < :lastFullDayExclusive " +
+            "    union all " +
+            "    select t.seller_id, t.amount " +
+            "    from transaction t " +
+            "    where (t.transaction_date >= :start and t.transaction_date < :headEnd) " +
+            "       or (t.transaction_date >= :tailStart and t.transaction_date <= :end)" +
+            ") x on x.seller_id = s.id ";
+
+    private static final String MOST_PRODUCTIVE_SELLER = SELLER_TOTALS +
+            "group by s.id, s.name, s.contact_info, s.registration_date " +
+            "order by total_amount desc, s.id " +
+            "limit 1";
+
+    private static final String SELLERS_WITH_TOTAL_AMOUNT_LESS_THAN = SELLER_TOTALS +
+            "group by s.id, s.name, s.contact_info, s.registration_date " +
+            "having coalesce(sum(x.amount), 0) < :amount " +
+            "order by s.id";
+
+    private final DatabaseClient databaseClient;
+    private final int fetchSize;
+
+    public SellerSalesR2dbcRepository(DatabaseClient databaseClient, @Value("${crm.r2dbc.fetch-size:500}") int fetchSize) {
+
+        this.databaseClient = databaseClient;
+        this.fetchSize = fetchSize;
+    }
+
+    public Mono<SellerWithTotalAmountDTO> findMostProductiveSeller(SalesWindow window) {
+
+        return bindWindow(databaseClient.sql(MOST_PRODUCTIVE_SELLER), window)
+                .map(SellerSalesR2dbcRepository::mapRow)
+                .first();
+    }
+
+    public Flux<SellerWithTotalAmountDTO> findSellersWithTotalAmountLessThan(BigDecimal amount, SalesWindow window) {
+
+        // fetchSize: драйвер читает строки порциями по мере спроса, а не весь результат сразу.
+        return bindWindow(databaseClient.sql(SELLERS_WITH_TOTAL_AMOUNT_LESS_THAN)
+                        .filter(statement -> statement.fetchSize(fetchSize)), window)
+                .bind("amount", amount)
+                .map(SellerSalesR2dbcRepository::mapRow)
+                .all();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindWindow(DatabaseClient.GenericExecuteSpec spec, SalesWindow window) {
+
+        return spec
+                .bind("firstFullDay", window.firstFullDay())
+                .bind("lastFullDayExclusive", window.lastFullDayExclusive())
+                .bind("start", window.start())
+                .bind("headEnd", window.headEnd())
+                .bind("tailStart", window.tailStart())
+                .bind("end", window.end());
+    }
+
+    private static SellerWithTotalAmountDTO mapRow(Readable row) {
+
+        return new SellerWithTotalAmountDTO(
+                row.get("id", Long.class),
+                row.get("name", String.class),
+                row.get("contact_info", String.class),
+                row.get("registration_date", LocalDateTime.class),
+                row.get("total_amount", BigDecimal.class)
+        );
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.config.DatabasePlatform;
+import com.example.springboot_crm.dto.SalesHistogramBucketDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+@Repository
+public class TransactionJdbcRepository {
+
+    private static final String SELECT_ALL_ORDERED =
+            "select id, seller_id, amount, payment_type, transaction_date from transaction order by transaction_date, id";
+    // Условие по transaction_date отсекает лишние месячные секции и использует индекс (transaction_date, id).
+    private static final String SELECT_BETWEEN_ORDERED =
+            "select id, seller_id, amount, payment_type, transaction_date from transaction " +
+            "where transaction_date >= ? and transaction_date <= ? order by transaction_date, id";
+    private static final String SELECT_BETWEEN_FOR_SELLER_ORDERED =
+            "select id, seller_id, amount, payment_type, transaction_date from transaction " +
+            "where seller_id = ? and transaction_date >= ? and transaction_date <= ? order by transaction_date, id";
+    // Поле date_trunc подставляется из SalesBucket, а не из параметров запроса.
+    private static final String SALES_HISTOGRAM_POSTGRESQL =
+            "select date_trunc('%s', transaction_date) as bucket_start, payment_type, " +
+            "count(*) as transaction_count, sum(amount) as total_amount " +
+            "from transaction where transaction_date >= ? and transaction_date <= ?%s " +
+            "group by bucket_start, payment_type order by bucket_start, payment_type";
+    private static final String SELECT_FOR_SALES_HISTOGRAM =
+            "select transaction_date, payment_type, amount from transaction " +
+            "where transaction_date >= ? and transaction_date <= ?";
+    private static final String SELLER_CONDITION = " and seller_id = ?";
+    private static final Comparator<HistogramKey> HISTOGRAM_KEY_ORDER =
+            Comparator.comparing(HistogramKey::bucketStart).thenComparing(HistogramKey::paymentType);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DatabasePlatform databasePlatform;
+
+    // Ограниченный fetch size: драйвер читает строки курсором порциями, а не всю таблицу сразу.
+    // Для PostgreSQL курсор работает только внутри транзакции.
+    public TransactionJdbcRepository(DataSource dataSource, DatabasePlatform databasePlatform,
+                                     @Value("${crm.transactions.stream-fetch-size:500}") int fetchSize) {
+
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.databasePlatform = databasePlatform;
+    }
+
+    public void streamAll(Consumer<TransactionDTO> consumer) {
+
+        jdbcTemplate.query(SELECT_ALL_ORDERED, (RowCallbackHandler) rs -> consumer.accept(mapRow(rs)));
+    }
+
+    // Период включает обе границы; sellerId необязателен.
+    public void streamBetween(LocalDateTime start, LocalDateTime end, Long sellerId, Consumer<TransactionDTO> consumer) {
+
+        RowCallbackHandler handler = rs -> consumer.accept(mapRow(rs));
+        if (sellerId == null) {
+            jdbcTemplate.query(SELECT_BETWEEN_ORDERED, handler, start, end);
+        } else {
+            jdbcTemplate.query(SELECT_BETWEEN_FOR_SELLER_ORDERED, handler, sellerId, start, end);
+        }
+    }
+
+    // Продажи по интервалам и способам оплаты, упорядоченные по началу интервала и способу оплаты.
+    // Период включает обе границы; sellerId необязателен. Интервалы без продаж не возвращаются.
+    public List<SalesHistogramBucketDTO> findSalesHistogram(SalesBucket bucket, LocalDateTime start, LocalDateTime end, Long sellerId) {
+
+        Object[] args = sellerId == null ? new Object[]{start, end} : new Object[]{start, end, sellerId};
+        String sellerCondition = sellerId == null ? "" : SELLER_CONDITION;
+
+        if (databasePlatform.isPostgreSql()) {
+            return jdbcTemplate.query(SALES_HISTOGRAM_POSTGRESQL.formatted(bucket.getDateTruncField(), sellerCondition),
+                    (rs, rowNum) -> new SalesHistogramBucketDTO(
+                            rs.getObject("bucket_start", LocalDateTime.class),
+                            PaymentType.valueOf(rs.getString("payment_type")),
+                            rs.getLong("transaction_count"),
+                            rs.getBigDecimal("total_amount")),
+                    args);
+        }
+
+        // Без date_trunc строки читаются курсором за один проход, в памяти хранятся только интервалы.
+        Map<HistogramKey, HistogramBucket> buckets = new HashMap<>();
+        jdbcTemplate.query(SELECT_FOR_SALES_HISTOGRAM + sellerCondition, (RowCallbackHandler) rs -> {
+            HistogramKey key = new HistogramKey(
+                    bucket.startOf(rs.getObject("transaction_date", LocalDateTime.class)),
+                    PaymentType.valueOf(rs.getString("payment_type")));
+            buckets.computeIfAbsent(key, k -> new HistogramBucket()).add(rs.getBigDecimal("amount"));
+        }, args);
+
+        return buckets.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey(HISTOGRAM_KEY_ORDER))
+                .map(entry -> new SalesHistogramBucketDTO(entry.getKey().bucketStart(), entry.getKey().paymentType(),
+                        entry.getValue().transactionCount, entry.getValue().totalAmount))
+                .toList();
+    }
+
+    private TransactionDTO mapRow(ResultSet rs) throws SQLException {
+
+        return new TransactionDTO(
+                rs.getLong("id"),
+                rs.getLong("seller_id"),
+                rs.getBigDecimal("amount"),
+                PaymentType.valueOf(rs.getString("payment_type")),
+                rs.getObject("transaction_date", LocalDateTime.class)
+        );
+    }
+
+    private record HistogramKey(LocalDateTime bucketStart, PaymentType paymentType) {
+    }
+
+    private static class HistogramBucket {
+
+        private long transactionCount;
+        private BigDecimal totalAmount = BigDecimal.ZERO;
+
+        void add(BigDecimal amount) {
+            transactionCount++;
+            totalAmount = totalAmount.add(amount);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.springboot_crm.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Управление месячными секциями таблицы transaction (только PostgreSQL).
+@Repository
+public class TransactionPartitionJdbcRepository {
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("transaction_y(\\d{4})m(\\d{2})");
+
+    private static final String IS_PARTITIONED =
+            "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('transaction'))";
+
+    private static final String PARTITION_NAMES =
+            "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid " +
+            "where i.inhparent = to_regclass('transaction')";
+
+    private static final String DEFAULT_PARTITION = "transaction_default";
+
+    private static final String DEFAULT_PARTITION_HAS_ROWS =
+            "select exists (select 1 from " + DEFAULT_PARTITION + " where transaction_date >= ? and transaction_date < ?)";
+
+    private static final String MOVE_FROM_DEFAULT_PARTITION =
+            "with moved as (delete from " + DEFAULT_PARTITION + " where transaction_date >= ? and transaction_date < ? " +
+            "returning id, seller_id, amount, payment_type, transaction_date) " +
+            "insert into transaction (id, seller_id, amount, payment_type, transaction_date) " +
+            "select id, seller_id, amount, payment_type, transaction_date from moved";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionPartitionJdbcRepository(JdbcTemplate jdbcTemplate) {
+
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public boolean isPartitioned() {
+
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(IS_PARTITIONED, Boolean.class));
+    }
+
+    public List<YearMonth> findMonthlyPartitions() {
+
+        return jdbcTemplate.queryForList(PARTITION_NAMES, String.class).stream()
+                .map(TransactionPartitionJdbcRepository::parsePartitionMonth)
+                .filter(Objects::nonNull)
+                .sorted()
+                .toList();
+    }
+
+    // Если строки месяца уже попали в секцию по умолчанию, PostgreSQL не создаст секцию поверх них.
+    // Тогда секция по умолчанию отсоединяется, строки переносятся в новую секцию, и она присоединяется обратно.
+    // Все это выполняется в одной транзакции; вставки в transaction на это время ждут блокировку.
+    @Transactional
+    public void createMonthlyPartition(YearMonth month) {
+
+        LocalDate from = month.atDay(1);
+        LocalDate to = month.plusMonths(1).atDay(1);
+        boolean defaultPartitionHasRows = Boolean.TRUE.equals(
+                jdbcTemplate.queryForObject(DEFAULT_PARTITION_HAS_ROWS, Boolean.class, from, to));
+
+        if (!defaultPartitionHasRows) {
+            executeCreatePartition(month, from, to);
+            return;
+        }
+
+        jdbcTemplate.execute("alter table transaction detach partition " + DEFAULT_PARTITION);
+        executeCreatePartition(month, from, to);
+        jdbcTemplate.update(MOVE_FROM_DEFAULT_PARTITION, from, to);
+        jdbcTemplate.execute("alter table transaction attach partition " + DEFAULT_PARTITION + " default");
+    }
+
+    // Удаление секции вместо delete: место освобождается сразу, без нагрузки на vacuum.
+    public void dropMonthlyPartition(YearMonth month) {
+
+        jdbcTemplate.execute("drop table if exists " + partitionName(month));
+    }
+
+    private void executeCreatePartition(YearMonth month, LocalDate from, LocalDate to) {
+
+        // Имя и границы секции формируются из YearMonth, а не из пользовательского ввода.
+        jdbcTemplate.execute("create table if not exists " + partitionName(month) +
+                " partition of transaction for values from ('" + from + "') to ('" + to + "')");
+    }
+
+    static String partitionName(YearMonth month) {
+        return "transaction_" + month.format(PARTITION_SUFFIX);
+    }
+
+    private static YearMonth parsePartitionMonth(String partitionName) {
+
+        Matcher matcher = PARTITION_NAME.matcher(partitionName);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.springboot_crm.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Идентификаторы записей журнала фоновой записи, уже записанных в базу.
+@Repository
+public class WriteBehindIngestJdbcRepository {
+
+    private static final String INSERT = "insert into write_behind_ingest (ingest_id) values (?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public WriteBehindIngestJdbcRepository(JdbcTemplate jdbcTemplate) {
+
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Размер списка ограничен размером пачки фоновой записи.
+    public Set<UUID> findIngested(Collection<UUID> ingestIds) {
+
+        if (ingestIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "select ingest_id from write_behind_ingest where ingest_id in (" + placeholders(ingestIds.size()) + ")",
+                UUID.class, ingestIds.toArray()));
+    }
+
+    public void markIngested(List<UUID> ingestIds) {
+
+        jdbcTemplate.batchUpdate(INSERT, ingestIds, ingestIds.size(), (ps, ingestId) -> ps.setObject(1, ingestId));
+    }
+
+    public void deleteIngested(Collection<UUID> ingestIds) {
+
+        if (ingestIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("delete from write_behind_ingest where ingest_id in (" + placeholders(ingestIds.size()) + ")",
+                ingestIds.toArray());
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Objects;
+
+@Service
+public class CacheStatsService {
+
+    private final CacheManager cacheManager;
+
+    public CacheStatsService(CacheManager cacheManager) {
+
+        this.cacheManager = cacheManager;
+    }
+
+    // Статистика доступна только для кэшей Caffeine, созданных с recordStats.
+    public List<CacheStatsDTO> getCacheStats() {
+
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> toDTO((CaffeineCache) cache))
+                .toList();
+    }
+
+    private CacheStatsDTO toDTO(CaffeineCache cache) {
+
+        CacheStats stats = cache.getNativeCache().stats();
+        return new CacheStatsDTO(cache.getName(), cache.getNativeCache().estimatedSize(), stats.hitCount(),
+                stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+}
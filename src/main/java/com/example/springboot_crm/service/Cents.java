@@ -0,0 +1,19 @@
+package com.example.springboot_crm.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+// Суммы в схеме ограничены decimal(10, 2), поэтому в памяти их можно хранить как long в копейках.
+final class Cents {
+
+    private Cents() {
+    }
+
+    static long toCents(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
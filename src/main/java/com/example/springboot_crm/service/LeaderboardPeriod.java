@@ -0,0 +1,21 @@
+package com.example.springboot_crm.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum LeaderboardPeriod {
+
+    DAY,
+    WEEK,
+    MONTH;
+
+    // Первый день периода, в который попадает дата. Неделя начинается с понедельника.
+    public LocalDate startOf(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+}
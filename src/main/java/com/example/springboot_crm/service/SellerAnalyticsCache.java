@@ -0,0 +1,117 @@
+package com.example.springboot_crm.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Кэш результатов аналитики продавцов по нормализованному периоду.
+// Закрытые периоды (конец в прошлом) хранятся до вытеснения по размеру; периоды, включающие текущий момент,
+// сбрасываются при записи транзакций, попадающих в период, и дополнительно ограничены коротким TTL
+// на случай записей в обход приложения.
+@Component
+public class SellerAnalyticsCache {
+
+    private final boolean enabled;
+    private final Duration openWindowTtl;
+    private final Cache<AnalyticsKey, Object> cache;
+    // Счетчик сбросов: результат, посчитанный во время сброса, не должен остаться в кэше.
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public SellerAnalyticsCache(@Value("${crm.analytics-cache.enabled:true}") boolean enabled,
+                                @Value("${crm.analytics-cache.maximum-size:1000}") long maximumSize,
+                                @Value("${crm.analytics-cache.open-window-ttl:60s}") Duration openWindowTtl) {
+
+        this.enabled = enabled;
+        this.openWindowTtl = openWindowTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new WindowExpiry())
+                .recordStats()
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String query, LocalDateTime start, LocalDateTime end, BigDecimal amount, Supplier<T> loader) {
+
+        if (!enabled) {
+            return loader.get();
+        }
+
+        AnalyticsKey key = AnalyticsKey.of(query, start, end, amount);
+        Object cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+
+        long generation = invalidations.get();
+        T value = loader.get();
+        cache.put(key, value);
+        if (invalidations.get() != generation) {
+            cache.invalidate(key);
+        }
+        return value;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTransactionsCreated(TransactionsCreatedEvent event) {
+
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key ->
+                key.overlaps(event.earliestTransactionDate(), event.latestTransactionDate()));
+    }
+
+    // Изменение состава или данных продавцов затрагивает результаты за любой период.
+    public void invalidateAll() {
+
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private record AnalyticsKey(String query, LocalDateTime start, LocalDateTime end, BigDecimal amount) {
+
+        // Точность дат приводится к точности timestamp в базе, суммы - без незначащих нулей.
+        static AnalyticsKey of(String query, LocalDateTime start, LocalDateTime end, BigDecimal amount) {
+            return new AnalyticsKey(query,
+                    start.truncatedTo(ChronoUnit.MICROS),
+                    end.truncatedTo(ChronoUnit.MICROS),
+                    amount == null ? null : amount.stripTrailingZeros());
+        }
+
+        boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return !to.isBefore(start) && !from.isAfter(end);
+        }
+    }
+
+    private class WindowExpiry implements Expiry<AnalyticsKey, Object> {
+
+        @Override
+        public long expireAfterCreate(AnalyticsKey key, Object value, long currentTime) {
+            return key.end().isBefore(LocalDateTime.now()) ? Long.MAX_VALUE : openWindowTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(AnalyticsKey key, Object value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(AnalyticsKey key, Object value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.config.CacheConfiguration;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+// Сбрасывает кэши продавцов только после фиксации изменений. Сброс до фиксации позволил бы параллельному
+// запросу снова закэшировать старые данные, а после отката кэш сбрасывать незачем.
+@Component
+public class SellerCacheEvictor {
+
+    private final CacheManager cacheManager;
+    private final SellerAnalyticsCache sellerAnalyticsCache;
+
+    public SellerCacheEvictor(CacheManager cacheManager, SellerAnalyticsCache sellerAnalyticsCache) {
+
+        this.cacheManager = cacheManager;
+        this.sellerAnalyticsCache = sellerAnalyticsCache;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSellersChanged(SellersChangedEvent event) {
+
+        Cache sellers = cacheManager.getCache(CacheConfiguration.SELLERS_CACHE);
+        if (sellers != null) {
+            if (event.sellerId() == null) {
+                sellers.clear();
+            } else {
+                sellers.evict(event.sellerId());
+            }
+        }
+        // Изменение состава или данных продавцов затрагивает результаты аналитики за любой период.
+        sellerAnalyticsCache.invalidateAll();
+    }
+}
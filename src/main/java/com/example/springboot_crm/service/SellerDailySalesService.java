@@ -0,0 +1,28 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Service
+public class SellerDailySalesService {
+
+    private final SellerSalesJdbcRepository sellerSalesJdbcRepository;
+
+    public SellerDailySalesService(SellerSalesJdbcRepository sellerSalesJdbcRepository) {
+
+        this.sellerSalesJdbcRepository = sellerSalesJdbcRepository;
+    }
+
+    // Вызывается в транзакции записи продажи, чтобы агрегат и сырые строки не расходились.
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSales(Long sellerId, LocalDate salesDate, PaymentType paymentType, long transactionCount, BigDecimal amount) {
+
+        sellerSalesJdbcRepository.addDailySales(sellerId, salesDate, paymentType, transactionCount, amount);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestErrorDTO;
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.repository.SellerJdbcRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Загрузка продавцов из CSV: новые contact_info добавляются, для существующих обновляется имя.
+@Service
+public class SellerImportService {
+
+    private final SellerJdbcRepository sellerJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public SellerImportService(SellerJdbcRepository sellerJdbcRepository, ApplicationEventPublisher eventPublisher,
+                               Validator validator, PlatformTransactionManager transactionManager,
+                               @Value("${crm.seller-import.batch-size:1000}") int batchSize) {
+
+        this.sellerJdbcRepository = sellerJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // Как и при загрузке транзакций, каждая пачка записывается в отдельной транзакции.
+    // Имена могли измениться у любых продавцов, поэтому кэши продавцов сбрасываются целиком.
+    public BulkIngestResultDTO importSellers(Iterator<SellerDTO> sellers) {
+
+        List<BulkIngestErrorDTO> errors = new ArrayList<>();
+        List<IndexedSeller> batch = new ArrayList<>(batchSize);
+        int received = 0;
+        int accepted = 0;
+
+        try {
+            while (true) {
+                SellerDTO sellerDTO;
+                try {
+                    if (!sellers.hasNext()) {
+                        break;
+                    }
+                    sellerDTO = sellers.next();
+                } catch (RuntimeException e) {
+                    errors.add(new BulkIngestErrorDTO(received, "Unreadable seller, import stopped: " + e.getMessage()));
+                    break;
+                }
+
+                String error = validate(sellerDTO);
+                if (error != null) {
+                    errors.add(new BulkIngestErrorDTO(received, error));
+                } else {
+                    batch.add(new IndexedSeller(received, sellerDTO));
+                }
+                received++;
+
+                if (batch.size() == batchSize) {
+                    accepted += writeBatch(batch, errors);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                accepted += writeBatch(batch, errors);
+            }
+        } finally {
+            if (accepted > 0) {
+                eventPublisher.publishEvent(SellersChangedEvent.allSellers());
+            }
+        }
+
+        errors.sort(Comparator.comparingInt(BulkIngestErrorDTO::getIndex));
+        return new BulkIngestResultDTO(received, accepted, errors);
+    }
+
+    private String validate(SellerDTO sellerDTO) {
+
+        if (sellerDTO == null) {
+            return "Seller is empty";
+        }
+
+        Set<ConstraintViolation<SellerDTO>> violations = validator.validate(sellerDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private int writeBatch(List<IndexedSeller> batch, List<BulkIngestErrorDTO> errors) {
+
+        List<SellerDTO> sellers = batch.stream().map(IndexedSeller::seller).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> sellerJdbcRepository.upsertAll(sellers));
+        } catch (DataAccessException e) {
+            batch.forEach(indexed -> errors.add(new BulkIngestErrorDTO(indexed.index(), "Batch failed: " + e.getMostSpecificCause().getMessage())));
+            return 0;
+        }
+        return batch.size();
+    }
+
+    private record IndexedSeller(int index, SellerDTO seller) {
+    }
+}
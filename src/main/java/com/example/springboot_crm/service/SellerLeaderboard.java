@@ -0,0 +1,246 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.LeaderboardEntryDTO;
+import com.example.springboot_crm.repository.SellerDailyTotal;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Рейтинг продавцов за текущий день, неделю и месяц в памяти.
+// Суммы хранятся в копейках и обновляются после фиксации транзакций; при запуске рейтинг строится по seller_daily_sales
+// до того, как приложение начинает принимать запросы.
+@Service
+public class SellerLeaderboard implements SmartInitializingSingleton {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(SellerLeaderboard.class);
+
+    private final SellerSalesJdbcRepository sellerSalesJdbcRepository;
+    private final Map<LeaderboardPeriod, AtomicReference<Board>> boards = new EnumMap<>(LeaderboardPeriod.class);
+    // Фиксация продажи и ее применение к рейтингу идут под общей блокировкой, перестроение - под исключительной.
+    // Поэтому каждая продажа либо уже видна запросу перестроения, либо применяется к новому рейтингу, но не то и другое.
+    private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    public SellerLeaderboard(SellerSalesJdbcRepository sellerSalesJdbcRepository) {
+
+        this.sellerSalesJdbcRepository = sellerSalesJdbcRepository;
+        LocalDate today = LocalDate.now();
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            boards.put(period, new AtomicReference<>(new Board(period.startOf(today))));
+        }
+    }
+
+    // Вызывается после создания всех бинов (миграции уже выполнены), но до запуска веб-сервера.
+    // Поток фоновой записи к этому моменту уже может записывать продажи, их учитывает блокировка перестроения.
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+
+        try {
+            rebuild(LocalDate.now());
+        } catch (DataAccessException e) {
+            // Рейтинг продолжит заполняться новыми продажами.
+            log.error("Seller leaderboard rebuild failed", e);
+        }
+    }
+
+    void rebuild(LocalDate today) {
+
+        rebuildLock.writeLock().lock();
+        try {
+            rebuildLocked(today);
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    private void rebuildLocked(LocalDate today) {
+
+        Map<LeaderboardPeriod, Board> rebuilt = new EnumMap<>(LeaderboardPeriod.class);
+        LocalDate from = today;
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            Board board = new Board(period.startOf(today));
+            rebuilt.put(period, board);
+            if (board.start.isBefore(from)) {
+                from = board.start;
+            }
+        }
+
+        for (SellerDailyTotal dailyTotal : sellerSalesJdbcRepository.findDailyTotalsSince(from)) {
+            long cents = Cents.toCents(dailyTotal.totalAmount());
+            for (Board board : rebuilt.values()) {
+                if (!dailyTotal.salesDate().isBefore(board.start)) {
+                    board.add(dailyTotal.sellerId(), cents);
+                }
+            }
+        }
+
+        rebuilt.forEach((period, board) -> boards.get(period).set(board));
+    }
+
+    // Внутри транзакции продажа учитывается только после ее фиксации. Блокировка берется перед фиксацией
+    // и освобождается после применения продажи, поэтому перестроение не выполняется между ними.
+    public void recordSale(Long sellerId, LocalDate salesDate, BigDecimal amount) {
+
+        long cents = Cents.toCents(amount);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                private boolean locked;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    rebuildLock.readLock().lock();
+                    locked = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    applySale(sellerId, salesDate, cents);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (locked) {
+                        locked = false;
+                        rebuildLock.readLock().unlock();
+                    }
+                }
+            });
+        } else {
+            rebuildLock.readLock().lock();
+            try {
+                applySale(sellerId, salesDate, cents);
+            } finally {
+                rebuildLock.readLock().unlock();
+            }
+        }
+    }
+
+    // Удаленный продавец убирается из всех рейтингов после фиксации удаления.
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSellersChanged(SellersChangedEvent event) {
+
+        if (!event.deleted()) {
+            return;
+        }
+        rebuildLock.readLock().lock();
+        try {
+            for (AtomicReference<Board> board : boards.values()) {
+                board.get().remove(event.sellerId());
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    public List<LeaderboardEntryDTO> getTopSellers(LeaderboardPeriod period, int limit) {
+        return getTopSellers(period, limit, LocalDate.now());
+    }
+
+    List<LeaderboardEntryDTO> getTopSellers(LeaderboardPeriod period, int limit, LocalDate today) {
+
+        Board board = boards.get(period).get();
+        if (!board.start.equals(period.startOf(today))) {
+            // В текущем периоде продаж еще не было.
+            return List.of();
+        }
+        return board.top(Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    private void applySale(long sellerId, LocalDate salesDate, long cents) {
+
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            LocalDate start = period.startOf(salesDate);
+            AtomicReference<Board> reference = boards.get(period);
+            Board board = reference.get();
+            // Первая продажа нового периода заменяет рейтинг прошедшего.
+            while (board.start.isBefore(start)) {
+                Board next = new Board(start);
+                board = reference.compareAndSet(board, next) ? next : reference.get();
+            }
+            // Продажи за уже закрытый период не учитываются.
+            if (board.start.equals(start)) {
+                board.add(sellerId, cents);
+            }
+        }
+    }
+
+    private static class Board {
+
+        private final LocalDate start;
+        private final ConcurrentHashMap<Long, Long> totals = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListSet<Score> ranking = new ConcurrentSkipListSet<>();
+
+        Board(LocalDate start) {
+            this.start = start;
+        }
+
+        // Сумма продавца и его место в рейтинге меняются под блокировкой ключа в ConcurrentHashMap.
+        // Новая запись добавляется до удаления старой, поэтому читатель не теряет продавца, а дубликат отбрасывается в top.
+        void add(long sellerId, long cents) {
+            totals.compute(sellerId, (id, previous) -> {
+                long total = (previous == null ? 0 : previous) + cents;
+                if (previous != null && total == previous) {
+                    return previous;
+                }
+                ranking.add(new Score(id, total));
+                if (previous != null) {
+                    ranking.remove(new Score(id, previous));
+                }
+                return total;
+            });
+        }
+
+        void remove(long sellerId) {
+            totals.computeIfPresent(sellerId, (id, previous) -> {
+                ranking.remove(new Score(id, previous));
+                return null;
+            });
+        }
+
+        List<LeaderboardEntryDTO> top(int limit) {
+
+            List<LeaderboardEntryDTO> top = new ArrayList<>(limit);
+            Set<Long> seen = new HashSet<>();
+            for (Score score : ranking) {
+                if (seen.add(score.sellerId())) {
+                    top.add(new LeaderboardEntryDTO(top.size() + 1, score.sellerId(), Cents.toAmount(score.cents())));
+                    if (top.size() == limit) {
+                        break;
+                    }
+                }
+            }
+            return top;
+        }
+    }
+
+    // Порядок: по убыванию суммы, при равенстве - по id продавца.
+    private record Score(long sellerId, long cents) implements Comparable<Score> {
+
+        @Override
+        public int compareTo(Score other) {
+            int byCents = Long.compare(other.cents, cents);
+            return byCents != 0 ? byCents : Long.compare(sellerId, other.sellerId);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.example.springboot_crm.repository.SalesWindow;
+import com.example.springboot_crm.repository.SellerSalesR2dbcRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Service
+public class SellerReactiveService {
+
+    private final SellerSalesR2dbcRepository sellerSalesR2dbcRepository;
+
+    public SellerReactiveService(SellerSalesR2dbcRepository sellerSalesR2dbcRepository) {
+
+        this.sellerSalesR2dbcRepository = sellerSalesR2dbcRepository;
+    }
+
+    public Mono<SellerWithTotalAmountDTO> getMostProductiveSeller(LocalDateTime start, LocalDateTime end) {
+
+        return sellerSalesR2dbcRepository.findMostProductiveSeller(SalesWindow.of(start, end))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("No most productive seller found")));
+    }
+
+    // В отличие от SellerService, пустой результат - это пустой поток, а не ошибка:
+    // к моменту, когда это становится известно, ответ уже может быть начат.
+    public Flux<SellerWithTotalAmountDTO> getSellersWithTotalAmountLessThan(BigDecimal amount, LocalDateTime start, LocalDateTime end) {
+
+        return sellerSalesR2dbcRepository.findSellersWithTotalAmountLessThan(amount, SalesWindow.of(start, end));
+    }
+}
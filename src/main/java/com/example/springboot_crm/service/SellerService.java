@@ -1,42 +1,74 @@
 package com.example.springboot_crm.service;
 
+import com.example.springboot_crm.config.CacheConfiguration;
+import com.example.springboot_crm.dto.SalesHistogramBucketDTO;
 import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.SellerTotalsDTO;
 import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.entity.PaymentType;
 import com.example.springboot_crm.entity.Seller;
-import com.example.springboot_crm.entity.Transaction;
 import com.example.springboot_crm.mapper.SellerMapper;
 import com.example.springboot_crm.repository.ISellerRepository;
 import com.example.springboot_crm.exception.ResourceNotFoundException;
 import com.example.springboot_crm.repository.ITransactionRepository;
+import com.example.springboot_crm.repository.SalesBucket;
+import com.example.springboot_crm.repository.SalesWindow;
+import com.example.springboot_crm.repository.SellerPaymentTypeTotal;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
+import com.example.springboot_crm.repository.TransactionJdbcRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.AbstractMap;
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
+// Время каждого публичного метода: таймер crm.service с тегами class и method и гистограммой для перцентилей.
 @Service
+@Timed(value = "crm.service", histogram = true)
 public class SellerService {
 
+    private static final int SELLERS_PAGE_SIZE = 1000;
+    private static final String MOST_PRODUCTIVE_SELLER_QUERY = "mostProductiveSeller";
+    private static final String SELLERS_WITH_TOTAL_AMOUNT_LESS_THAN_QUERY = "sellersWithTotalAmountLessThan";
+
     private final ITransactionRepository iTransactionRepository;
     private final ISellerRepository iSellerRepository;
+    private final SellerSalesJdbcRepository sellerSalesJdbcRepository;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final SellerAnalyticsCache sellerAnalyticsCache;
+    private final SellerTotalsStore sellerTotalsStore;
     private final SellerMapper sellerMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public SellerService(ITransactionRepository iTransactionRepository, ISellerRepository iSellerRepository, SellerMapper sellerMapper) {
+    public SellerService(ITransactionRepository iTransactionRepository, ISellerRepository iSellerRepository,
+                         SellerSalesJdbcRepository sellerSalesJdbcRepository, TransactionJdbcRepository transactionJdbcRepository,
+                         SellerAnalyticsCache sellerAnalyticsCache, SellerTotalsStore sellerTotalsStore, SellerMapper sellerMapper,
+                         ApplicationEventPublisher eventPublisher) {
 
         this.iTransactionRepository = iTransactionRepository;
         this.iSellerRepository = iSellerRepository;
+        this.sellerSalesJdbcRepository = sellerSalesJdbcRepository;
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.sellerAnalyticsCache = sellerAnalyticsCache;
+        this.sellerTotalsStore = sellerTotalsStore;
         this.sellerMapper = sellerMapper;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<SellerDTO> getAllSellers() {
 
-        List<SellerDTO> sellerDTOs = iSellerRepository.findAll()
-                .stream()
-                .map(sellerMapper::toDTO)
-                .toList();
+        List<SellerDTO> sellerDTOs = iSellerRepository.findAllDTOs();
 
         if (sellerDTOs.isEmpty()) {
             throw new ResourceNotFoundException("No sellers found");
@@ -45,6 +77,11 @@ public class SellerService {
         return sellerDTOs;
     }
 
+    // Кэшируется и используется при создании транзакций для проверки продавца без обращения к базе.
+    // Транзакция не readOnly, чтобы чтение шло на основную базу: отстающая реплика сразу после сброса
+    // вернула бы старую строку, и она осталась бы в кэше.
+    @Cacheable(CacheConfiguration.SELLERS_CACHE)
+    @Transactional
     public SellerDTO getSellerById(Long id) {
 
         Seller seller = iSellerRepository.findById(id)
@@ -53,57 +90,122 @@ public class SellerService {
         return sellerMapper.toDTO(seller);
     }
 
+    // Суммы берутся из памяти в копейках; BigDecimal создается только для ответа.
+    // Метод намеренно не транзакционный: транзакция readOnly заняла бы соединение, даже если база не нужна.
+    public SellerTotalsDTO getSellerTotals(Long id) {
+
+        PaymentType[] paymentTypes = PaymentType.values();
+        long[] cents = new long[paymentTypes.length];
+        if (sellerTotalsStore.isAvailable(id)) {
+            for (PaymentType paymentType : paymentTypes) {
+                cents[paymentType.ordinal()] = sellerTotalsStore.getCents(id, paymentType);
+            }
+        } else {
+            for (SellerPaymentTypeTotal total : sellerSalesJdbcRepository.findPaymentTypeTotals(id)) {
+                cents[total.paymentType().ordinal()] = Cents.toCents(total.totalAmount());
+            }
+        }
+
+        long totalCents = 0;
+        Map<PaymentType, BigDecimal> amountByPaymentType = new EnumMap<>(PaymentType.class);
+        for (PaymentType paymentType : paymentTypes) {
+            totalCents += cents[paymentType.ordinal()];
+            amountByPaymentType.put(paymentType, Cents.toAmount(cents[paymentType.ordinal()]));
+        }
+
+        // Нулевые суммы бывают и у несуществующего продавца, поэтому только тогда проверяется база.
+        if (totalCents == 0 && !iSellerRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Seller not found with id " + id);
+        }
+
+        return new SellerTotalsDTO(id, Cents.toAmount(totalCents), amountByPaymentType);
+    }
+
+    // sellerId необязателен: без него гистограмма строится по всем продавцам.
+    // Пустая гистограмма бывает и у несуществующего продавца, поэтому только тогда проверяется база.
+    @Transactional(readOnly = true)
+    public List<SalesHistogramBucketDTO> getSalesHistogram(Long sellerId, SalesBucket bucket, LocalDateTime start, LocalDateTime end) {
+
+        List<SalesHistogramBucketDTO> histogram = transactionJdbcRepository.findSalesHistogram(bucket, start, end, sellerId);
+        if (sellerId != null && histogram.isEmpty() && !iSellerRepository.existsById(sellerId)) {
+            throw new ResourceNotFoundException("Seller not found with id " + sellerId);
+        }
+        return histogram;
+    }
+
+    // Результаты аналитики кэшируются, поэтому, как и getSellerById, читаются с основной базы: период, закрытый
+    // недавно, на отстающей реплике был бы неполным и остался бы в кэше без срока.
+    @Transactional
     public SellerWithTotalAmountDTO getMostProductiveSeller(LocalDateTime start, LocalDateTime end) {
 
-        Map.Entry<Seller, BigDecimal> mostProductiveSellerWithAmount = iSellerRepository.findAll().stream()
-                .map(seller -> {
-                    BigDecimal totalAmount = iTransactionRepository.findBySellerAndTransactionDateBetween(seller, start, end)
-                            .stream()
-                            .map(Transaction::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return new AbstractMap.SimpleEntry<>(seller, totalAmount);
-                })
-                .max(Comparator.comparing(AbstractMap.SimpleEntry::getValue))
-                .orElseThrow(() -> new ResourceNotFoundException("No most productive seller found"));
+        return sellerAnalyticsCache.get(MOST_PRODUCTIVE_SELLER_QUERY, start, end, null,
+                () -> findMostProductiveSeller(start, end));
+    }
 
-        return new SellerWithTotalAmountDTO(
-                sellerMapper.toDTO(mostProductiveSellerWithAmount.getKey()),
-                mostProductiveSellerWithAmount.getValue()
-        );
+    private SellerWithTotalAmountDTO findMostProductiveSeller(LocalDateTime start, LocalDateTime end) {
+
+        SalesWindow window = SalesWindow.of(start, end);
+        if (window.hasFullDays()) {
+            return sellerSalesJdbcRepository.findMostProductiveSeller(window)
+                    .orElseThrow(() -> new ResourceNotFoundException("No most productive seller found"));
+        }
+
+        // Данные продавца выбираются в той же группирующей выборке, отдельная загрузка по id не нужна.
+        return iTransactionRepository.findSellersOrderByTotalAmountDesc(start, end, PageRequest.of(0, 1))
+                .stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("No most productive seller found"));
     }
 
+    @Transactional
     public List<SellerWithTotalAmountDTO> getSellersWithTotalAmountLessThan(BigDecimal amount, LocalDateTime start, LocalDateTime end) {
 
-        List<AbstractMap.SimpleEntry<Seller, BigDecimal>> sellersWithTotalAmount = iSellerRepository.findAll().stream()
-                .map(seller -> {
-                    BigDecimal total = iTransactionRepository.findBySellerAndTransactionDateBetween(seller, start, end)
-                            .stream()
-                            .map(Transaction::getAmount)
-                            .reduce(BigDecimal.ZERO, BigDecimal::add);
-                    return new AbstractMap.SimpleEntry<>(seller, total);
-                })
-                .filter(entry -> entry.getValue().compareTo(amount) < 0)
-                .toList();
+        return sellerAnalyticsCache.get(SELLERS_WITH_TOTAL_AMOUNT_LESS_THAN_QUERY, start, end, amount,
+                () -> findSellersWithTotalAmountLessThan(amount, start, end));
+    }
+
+    private List<SellerWithTotalAmountDTO> findSellersWithTotalAmountLessThan(BigDecimal amount, LocalDateTime start, LocalDateTime end) {
+
+        SalesWindow window = SalesWindow.of(start, end);
+        Pageable pageable = PageRequest.of(0, SELLERS_PAGE_SIZE);
+        List<SellerWithTotalAmountDTO> sellersWithTotalAmount = window.hasFullDays()
+                ? findAllPages(afterSellerId -> sellerSalesJdbcRepository.findSellersWithTotalAmountLessThan(amount, window, afterSellerId, SELLERS_PAGE_SIZE))
+                : findAllPages(afterSellerId -> iTransactionRepository.findSellersWithTotalAmountLessThan(amount, start, end, afterSellerId, pageable));
 
         if (sellersWithTotalAmount.isEmpty()) {
             throw new ResourceNotFoundException("No sellers found with total transaction amount less than " + amount);
         }
 
-        return sellersWithTotalAmount.stream()
-                .map(entry -> new SellerWithTotalAmountDTO(
-                        sellerMapper.toDTO(entry.getKey()),
-                        entry.getValue())
-                )
-                .toList();
+        return sellersWithTotalAmount;
+    }
+
+    private List<SellerWithTotalAmountDTO> findAllPages(Function<Long, List<SellerWithTotalAmountDTO>> pageQuery) {
+
+        List<SellerWithTotalAmountDTO> sellers = new ArrayList<>();
+        Long afterSellerId = 0L;
+        List<SellerWithTotalAmountDTO> page;
+        do {
+            page = pageQuery.apply(afterSellerId);
+            sellers.addAll(page);
+            if (!page.isEmpty()) {
+                afterSellerId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == SELLERS_PAGE_SIZE);
+
+        return sellers;
     }
 
+    // Кэши сбрасываются после фиксации транзакции (SellerCacheEvictor).
+    @Transactional
     public SellerDTO createSeller(SellerDTO sellerDTO) {
 
         Seller seller = sellerMapper.toEntity(sellerDTO);
         Seller savedSeller = iSellerRepository.save(seller);
+        eventPublisher.publishEvent(SellersChangedEvent.of(savedSeller.getId()));
         return sellerMapper.toDTO(savedSeller);
     }
 
+    @Transactional
     public SellerDTO updateSeller(Long id, SellerDTO sellerDTO) {
 
         Seller existingSeller = iSellerRepository.findById(id)
@@ -113,13 +215,16 @@ public class SellerService {
         existingSeller.setContactInfo(sellerDTO.getContactInfo());
         // registrationDate не обновляется 
         Seller updatedSeller = iSellerRepository.save(existingSeller);
+        eventPublisher.publishEvent(SellersChangedEvent.of(id));
         return sellerMapper.toDTO(updatedSeller);
     }
 
+    @Transactional
     public void deleteSeller(Long id) {
 
         Seller deletedSeller = iSellerRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Seller not found with id " + id));
         iSellerRepository.delete(deletedSeller);
+        eventPublisher.publishEvent(SellersChangedEvent.deleted(id));
     }
 }
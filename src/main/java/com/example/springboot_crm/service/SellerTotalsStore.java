@@ -0,0 +1,330 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.repository.SellerPaymentTypeTotal;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Суммы продаж каждого продавца по способам оплаты за все время, в копейках.
+// Идентификаторы продавцов выдаются последовательностью подряд, поэтому ячейки адресуются по id в страницах
+// AtomicLongArray без хэш-таблиц и упаковки id. Каждая сумма разбита на несколько ячеек, как в LongAdder,
+// чтобы параллельные продажи одного продавца не конкурировали за одну ячейку.
+// Рядом с суммами продавца лежат счетчики начатых и завершенных продаж: продажа начинается перед фиксацией
+// транзакции и завершается после применения к суммам. По ним сверка узнает, что продажи шли во время запроса к базе.
+// Периодически суммы сверяются с seller_daily_sales; до первой сверки данные считаются неготовыми.
+// Продавец, чьи суммы первая сверка пропустила, читается из базы, пока одна из следующих сверок его не подтвердит:
+// постоянные продажи одного продавца не отключают данные в памяти для остальных.
+@Service
+public class SellerTotalsStore {
+
+    private static final Logger log = LoggerFactory.getLogger(SellerTotalsStore.class);
+
+    private static final int PAGE_BITS = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int MAX_PAGES = 1 << 20;
+    private static final int STRIPES = 4;
+    private static final PaymentType[] PAYMENT_TYPES = PaymentType.values();
+    // Суммы по способам оплаты, затем счетчики начатых и завершенных продаж, каждое по STRIPES ячеек.
+    private static final int STARTED_OFFSET = PAYMENT_TYPES.length * STRIPES;
+    private static final int FINISHED_OFFSET = STARTED_OFFSET + STRIPES;
+    private static final int CELLS_PER_SELLER = FINISHED_OFFSET + STRIPES;
+    private static final long UNSTABLE = -1;
+
+    private final SellerSalesJdbcRepository sellerSalesJdbcRepository;
+    private volatile AtomicReferenceArray<AtomicLongArray> pages = new AtomicReferenceArray<>(16);
+    private volatile boolean reconciled;
+    // Продавцы, не сверенные ни разу. Заполняется до того, как reconciled становится true.
+    private final Set<Long> unreconciledSellers = ConcurrentHashMap.newKeySet();
+
+    public SellerTotalsStore(SellerSalesJdbcRepository sellerSalesJdbcRepository) {
+
+        this.sellerSalesJdbcRepository = sellerSalesJdbcRepository;
+    }
+
+    // Внутри транзакции продажа учитывается только после ее фиксации.
+    public void recordSale(Long sellerId, PaymentType paymentType, BigDecimal amount) {
+
+        long cents = Cents.toCents(amount);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                private boolean started;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    count(sellerId, STARTED_OFFSET);
+                    started = true;
+                }
+
+                @Override
+                public void afterCommit() {
+                    add(sellerId, paymentType, cents);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (started) {
+                        started = false;
+                        count(sellerId, FINISHED_OFFSET);
+                    }
+                }
+            });
+        } else {
+            count(sellerId, STARTED_OFFSET);
+            add(sellerId, paymentType, cents);
+            count(sellerId, FINISHED_OFFSET);
+        }
+    }
+
+    public boolean isAvailable(long sellerId) {
+        return reconciled && isTracked(sellerId)
+                && (unreconciledSellers.isEmpty() || !unreconciledSellers.contains(sellerId));
+    }
+
+    public long getCents(long sellerId, PaymentType paymentType) {
+
+        AtomicLongArray page = page(sellerId, false);
+        return page == null ? 0 : sum(page, cellIndex(sellerId, paymentType));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${crm.seller-totals.reconcile-interval:PT10M}",
+            initialDelayString = "${crm.seller-totals.reconcile-interval:PT10M}")
+    public void reconcile() {
+
+        try {
+            // Снимок берется до запроса: продажа, зафиксированная до снимка, уже видна запросу.
+            Snapshot snapshot = snapshot();
+            reconcile(snapshot, sellerSalesJdbcRepository.findPaymentTypeTotals());
+        } catch (DataAccessException e) {
+            // Следующая сверка повторит попытку.
+            log.error("Seller totals reconciliation failed", e);
+        }
+    }
+
+    // Суммы продавца исправляются, только если во время снимка у него не было незавершенных продаж
+    // и с момента снимка не началась ни одна новая. Иначе продажа могла попасть в один источник и не попасть
+    // в другой; такие суммы сверит следующий запуск.
+    private void reconcile(Snapshot snapshot, List<SellerPaymentTypeTotal> databaseTotals) {
+
+        List<boolean[]> checked = new ArrayList<>(snapshot.totals().size());
+        snapshot.totals().forEach(page -> checked.add(page == null ? null : new boolean[page.length]));
+
+        int corrected = 0;
+        Set<Long> skippedSellers = new HashSet<>();
+        for (SellerPaymentTypeTotal databaseTotal : databaseTotals) {
+            long sellerId = databaseTotal.sellerId();
+            if (!isTracked(sellerId)) {
+                continue;
+            }
+            int pageIndex = (int) (sellerId >>> PAGE_BITS);
+            int slot = slot(sellerId, databaseTotal.paymentType());
+            long before = 0;
+            long started = 0;
+            if (pageIndex < snapshot.totals().size() && snapshot.totals().get(pageIndex) != null) {
+                before = snapshot.totals().get(pageIndex)[slot];
+                started = snapshot.started().get(pageIndex)[slot / PAYMENT_TYPES.length];
+                checked.get(pageIndex)[slot] = true;
+            }
+            switch (correct(sellerId, databaseTotal.paymentType(), before, started, Cents.toCents(databaseTotal.totalAmount()))) {
+                case CORRECTED -> corrected++;
+                case SKIPPED -> skippedSellers.add(sellerId);
+                default -> { }
+            }
+        }
+
+        // Суммы, которых нет в базе, должны быть нулевыми.
+        for (int pageIndex = 0; pageIndex < snapshot.totals().size(); pageIndex++) {
+            long[] page = snapshot.totals().get(pageIndex);
+            if (page == null) {
+                continue;
+            }
+            for (int slot = 0; slot < page.length; slot++) {
+                if (!checked.get(pageIndex)[slot] && page[slot] != 0) {
+                    long sellerId = ((long) pageIndex << PAGE_BITS) + slot / PAYMENT_TYPES.length;
+                    long started = snapshot.started().get(pageIndex)[slot / PAYMENT_TYPES.length];
+                    switch (correct(sellerId, PAYMENT_TYPES[slot % PAYMENT_TYPES.length], page[slot], started, 0)) {
+                        case CORRECTED -> corrected++;
+                        case SKIPPED -> skippedSellers.add(sellerId);
+                        default -> { }
+                    }
+                }
+            }
+        }
+
+        if (corrected > 0 && reconciled) {
+            log.warn("Seller totals reconciliation corrected {} totals", corrected);
+        }
+        // У продавца, сверенного хотя бы раз, в памяти есть все продажи, и пропуск следующей сверки этого не меняет.
+        // У продавца, пропущенного первой сверкой, может не хватать продаж, записанных до запуска.
+        if (reconciled) {
+            unreconciledSellers.retainAll(skippedSellers);
+        } else {
+            unreconciledSellers.addAll(skippedSellers);
+            reconciled = true;
+        }
+    }
+
+    // started - число начатых продаж продавца на момент снимка или UNSTABLE, если часть из них не была завершена.
+    private Correction correct(long sellerId, PaymentType paymentType, long before, long started, long expected) {
+
+        if (before == expected) {
+            return Correction.MATCHED;
+        }
+        if (started == UNSTABLE || startedSales(sellerId) != started || getCents(sellerId, paymentType) != before) {
+            return Correction.SKIPPED;
+        }
+        add(sellerId, paymentType, expected - before);
+        return Correction.CORRECTED;
+    }
+
+    private void add(long sellerId, PaymentType paymentType, long cents) {
+
+        AtomicLongArray page = page(sellerId, true);
+        if (page == null) {
+            return;
+        }
+        page.getAndAdd(cellIndex(sellerId, paymentType) + stripe(), cents);
+    }
+
+    private void count(long sellerId, int counterOffset) {
+
+        AtomicLongArray page = page(sellerId, true);
+        if (page == null) {
+            return;
+        }
+        page.getAndIncrement(sellerIndex(sellerId) + counterOffset + stripe());
+    }
+
+    private long startedSales(long sellerId) {
+
+        AtomicLongArray page = page(sellerId, false);
+        return page == null ? 0 : sum(page, sellerIndex(sellerId) + STARTED_OFFSET);
+    }
+
+    // Для каждого продавца счетчик начатых продаж читается до сумм, а счетчик завершенных - после.
+    // Если они равны, все продажи, начатые до снимка, уже применены к суммам.
+    private Snapshot snapshot() {
+
+        AtomicReferenceArray<AtomicLongArray> current = pages;
+        List<long[]> totals = new ArrayList<>(current.length());
+        List<long[]> started = new ArrayList<>(current.length());
+        for (int pageIndex = 0; pageIndex < current.length(); pageIndex++) {
+            AtomicLongArray page = current.get(pageIndex);
+            if (page == null) {
+                totals.add(null);
+                started.add(null);
+                continue;
+            }
+            long[] pageTotals = new long[PAGE_SIZE * PAYMENT_TYPES.length];
+            long[] pageStarted = new long[PAGE_SIZE];
+            for (int seller = 0; seller < PAGE_SIZE; seller++) {
+                int sellerIndex = seller * CELLS_PER_SELLER;
+                long startedSales = sum(page, sellerIndex + STARTED_OFFSET);
+                for (PaymentType paymentType : PAYMENT_TYPES) {
+                    pageTotals[seller * PAYMENT_TYPES.length + paymentType.ordinal()] =
+                            sum(page, sellerIndex + paymentType.ordinal() * STRIPES);
+                }
+                long finishedSales = sum(page, sellerIndex + FINISHED_OFFSET);
+                pageStarted[seller] = startedSales == finishedSales ? startedSales : UNSTABLE;
+            }
+            totals.add(pageTotals);
+            started.add(pageStarted);
+        }
+        return new Snapshot(totals, started);
+    }
+
+    private static boolean isTracked(long sellerId) {
+        return sellerId >= 0 && (sellerId >>> PAGE_BITS) < MAX_PAGES;
+    }
+
+    // Номер суммы (продавец, способ оплаты) внутри страницы.
+    private static int slot(long sellerId, PaymentType paymentType) {
+        return (int) (sellerId & (PAGE_SIZE - 1)) * PAYMENT_TYPES.length + paymentType.ordinal();
+    }
+
+    private static int sellerIndex(long sellerId) {
+        return (int) (sellerId & (PAGE_SIZE - 1)) * CELLS_PER_SELLER;
+    }
+
+    private static int cellIndex(long sellerId, PaymentType paymentType) {
+        return sellerIndex(sellerId) + paymentType.ordinal() * STRIPES;
+    }
+
+    private static int stripe() {
+        return (int) Thread.currentThread().threadId() & (STRIPES - 1);
+    }
+
+    private static long sum(AtomicLongArray page, int firstCell) {
+
+        long total = 0;
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            total += page.get(firstCell + stripe);
+        }
+        return total;
+    }
+
+    private AtomicLongArray page(long sellerId, boolean create) {
+
+        if (!isTracked(sellerId)) {
+            return null;
+        }
+        int pageIndex = (int) (sellerId >>> PAGE_BITS);
+        AtomicReferenceArray<AtomicLongArray> current = pages;
+        if (pageIndex < current.length()) {
+            AtomicLongArray page = current.get(pageIndex);
+            if (page != null || !create) {
+                return page;
+            }
+        } else if (!create) {
+            return null;
+        }
+        return createPage(pageIndex);
+    }
+
+    // Страницы создаются и массив страниц расширяется под блокировкой; чтение и запись сумм идут без нее.
+    private synchronized AtomicLongArray createPage(int pageIndex) {
+
+        AtomicReferenceArray<AtomicLongArray> current = pages;
+        if (pageIndex >= current.length()) {
+            AtomicReferenceArray<AtomicLongArray> grown =
+                    new AtomicReferenceArray<>(Math.min(MAX_PAGES, Math.max(pageIndex + 1, current.length() * 2)));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
+            }
+            pages = grown;
+            current = grown;
+        }
+        AtomicLongArray page = current.get(pageIndex);
+        if (page == null) {
+            page = new AtomicLongArray(PAGE_SIZE * CELLS_PER_SELLER);
+            current.set(pageIndex, page);
+        }
+        return page;
+    }
+
+    private enum Correction {
+        MATCHED, CORRECTED, SKIPPED
+    }
+
+    // Суммы по страницам и, для каждого продавца, число начатых продаж или UNSTABLE.
+    private record Snapshot(List<long[]> totals, List<long[]> started) {
+    }
+}
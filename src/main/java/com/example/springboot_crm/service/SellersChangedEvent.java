@@ -0,0 +1,17 @@
+package com.example.springboot_crm.service;
+
+// Публикуется после изменения продавцов; sellerId равен null, если изменения могли затронуть любых продавцов.
+public record SellersChangedEvent(Long sellerId, boolean deleted) {
+
+    public static SellersChangedEvent of(Long sellerId) {
+        return new SellersChangedEvent(sellerId, false);
+    }
+
+    public static SellersChangedEvent deleted(Long sellerId) {
+        return new SellersChangedEvent(sellerId, true);
+    }
+
+    public static SellersChangedEvent allSellers() {
+        return new SellersChangedEvent(null, false);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+// Пишет транзакции в CSV по одной строке через буфер фиксированного размера, при необходимости сжимая в gzip.
+// Все поля - числа, перечисления и даты, поэтому экранирование не требуется.
+// close дописывает буфер и окончание gzip, но не закрывает исходный поток.
+public class TransactionCsvWriter implements Closeable {
+
+    public static final String HEADER = "id,seller_id,amount,payment_type,transaction_date";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GZIPOutputStream gzipStream;
+    private final Writer writer;
+
+    public TransactionCsvWriter(OutputStream outputStream, boolean gzip) throws IOException {
+
+        this.gzipStream = gzip ? new GZIPOutputStream(new NonClosingOutputStream(outputStream), BUFFER_SIZE) : null;
+        OutputStream target = gzip ? gzipStream : new NonClosingOutputStream(outputStream);
+        this.writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    public void write(TransactionDTO transaction) {
+
+        try {
+            writer.write(String.valueOf(transaction.getId()));
+            writer.write(',');
+            writer.write(String.valueOf(transaction.getSellerId()));
+            writer.write(',');
+            writer.write(transaction.getAmount().toPlainString());
+            writer.write(',');
+            writer.write(transaction.getPaymentType().name());
+            writer.write(',');
+            writer.write(transaction.getTransactionDate().toString());
+            writer.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+
+        writer.flush();
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        writer.close();
+    }
+
+    private static class NonClosingOutputStream extends FilterOutputStream {
+
+        NonClosingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestErrorDTO;
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Transaction;
+import com.example.springboot_crm.mapper.TransactionMapper;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import com.example.springboot_crm.repository.WriteBehindIngestJdbcRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+public class TransactionIngestService {
+
+    private final ISellerRepository iSellerRepository;
+    private final ITransactionRepository iTransactionRepository;
+    private final WriteBehindIngestJdbcRepository writeBehindIngestJdbcRepository;
+    private final SellerDailySalesService sellerDailySalesService;
+    private final SellerLeaderboard sellerLeaderboard;
+    private final SellerTotalsStore sellerTotalsStore;
+    private final TransactionMapper transactionMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public TransactionIngestService(ISellerRepository iSellerRepository, ITransactionRepository iTransactionRepository,
+                                    WriteBehindIngestJdbcRepository writeBehindIngestJdbcRepository,
+                                    SellerDailySalesService sellerDailySalesService, SellerLeaderboard sellerLeaderboard,
+                                    SellerTotalsStore sellerTotalsStore, TransactionMapper transactionMapper,
+                                    ApplicationEventPublisher eventPublisher, EntityManager entityManager, Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${crm.ingest.batch-size:1000}") int batchSize) {
+
+        this.iSellerRepository = iSellerRepository;
+        this.iTransactionRepository = iTransactionRepository;
+        this.writeBehindIngestJdbcRepository = writeBehindIngestJdbcRepository;
+        this.sellerDailySalesService = sellerDailySalesService;
+        this.sellerLeaderboard = sellerLeaderboard;
+        this.sellerTotalsStore = sellerTotalsStore;
+        this.transactionMapper = transactionMapper;
+        this.eventPublisher = eventPublisher;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+    }
+
+    // Каждая пачка записывается в отдельной транзакции: память ограничена размером пачки,
+    // а ошибка в одной пачке не откатывает уже записанные.
+    public BulkIngestResultDTO ingestTransactions(Iterator<TransactionDTO> transactions) {
+
+        List<BulkIngestErrorDTO> errors = new ArrayList<>();
+        List<IndexedTransaction> batch = new ArrayList<>(batchSize);
+        int received = 0;
+        int accepted = 0;
+
+        while (true) {
+            TransactionDTO transactionDTO;
+            try {
+                if (!transactions.hasNext()) {
+                    break;
+                }
+                transactionDTO = transactions.next();
+            } catch (RuntimeException e) {
+                errors.add(new BulkIngestErrorDTO(received, "Unreadable transaction, ingestion stopped: " + e.getMessage()));
+                break;
+            }
+
+            String error = validate(transactionDTO);
+            if (error != null) {
+                errors.add(new BulkIngestErrorDTO(received, error));
+            } else {
+                batch.add(new IndexedTransaction(received, transactionDTO));
+            }
+            received++;
+
+            if (batch.size() == batchSize) {
+                accepted += writeBatch(batch, errors);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            accepted += writeBatch(batch, errors);
+        }
+
+        errors.sort(Comparator.comparingInt(BulkIngestErrorDTO::getIndex));
+        return new BulkIngestResultDTO(received, accepted, errors);
+    }
+
+    // Одна пачка в одной транзакции для фоновой записи. Ошибки строк возвращаются по индексам,
+    // а ошибки базы пробрасываются, чтобы вызывающий мог повторить пачку целиком.
+    // ingestIds - идентификаторы записей журнала по строкам. Идентификаторы записанных строк сохраняются
+    // в той же транзакции, поэтому строки пачки, повторенной после сбоя, не записываются второй раз.
+    // Дата транзакции проставляется при приеме в очередь и сохраняется, даже если пачка записана намного позже.
+    public List<BulkIngestErrorDTO> ingestBatch(List<TransactionDTO> transactions, List<UUID> ingestIds) {
+
+        List<BulkIngestErrorDTO> errors = new ArrayList<>();
+        List<IndexedTransaction> batch = new ArrayList<>(transactions.size());
+        for (int i = 0; i < transactions.size(); i++) {
+            String error = validate(transactions.get(i));
+            if (error != null) {
+                errors.add(new BulkIngestErrorDTO(i, error));
+            } else {
+                batch.add(new IndexedTransaction(i, transactions.get(i)));
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            transactionTemplate.execute(status -> insertBatchOnce(batch, ingestIds, errors));
+        }
+
+        errors.sort(Comparator.comparingInt(BulkIngestErrorDTO::getIndex));
+        return errors;
+    }
+
+    // Вызывается после того, как журнал отметил пачку записанной: повторять ее больше не будут.
+    public void forgetIngestIds(List<UUID> ingestIds) {
+
+        writeBehindIngestJdbcRepository.deleteIngested(ingestIds);
+    }
+
+    private int insertBatchOnce(List<IndexedTransaction> batch, List<UUID> ingestIds, List<BulkIngestErrorDTO> errors) {
+
+        Set<UUID> ingested = writeBehindIngestJdbcRepository.findIngested(
+                batch.stream().map(indexed -> ingestIds.get(indexed.index())).toList());
+        List<IndexedTransaction> pending = batch.stream()
+                .filter(indexed -> !ingested.contains(ingestIds.get(indexed.index())))
+                .toList();
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<BulkIngestErrorDTO> batchErrors = new ArrayList<>();
+        int written = insertBatch(pending, true, batchErrors);
+        errors.addAll(batchErrors);
+
+        Set<Integer> rejected = batchErrors.stream().map(BulkIngestErrorDTO::getIndex).collect(Collectors.toSet());
+        List<UUID> writtenIds = pending.stream()
+                .filter(indexed -> !rejected.contains(indexed.index()))
+                .map(indexed -> ingestIds.get(indexed.index()))
+                .toList();
+        if (!writtenIds.isEmpty()) {
+            writeBehindIngestJdbcRepository.markIngested(writtenIds);
+        }
+        return written;
+    }
+
+    private String validate(TransactionDTO transactionDTO) {
+
+        if (transactionDTO == null) {
+            return "Transaction is empty";
+        }
+        if (transactionDTO.getSellerId() == null) {
+            return "sellerId: must not be null";
+        }
+
+        Set<ConstraintViolation<TransactionDTO>> violations = validator.validate(transactionDTO);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private int writeBatch(List<IndexedTransaction> batch, List<BulkIngestErrorDTO> errors) {
+
+        List<BulkIngestErrorDTO> batchErrors = new ArrayList<>();
+        Integer written;
+        try {
+            written = transactionTemplate.execute(status -> insertBatch(batch, false, batchErrors));
+        } catch (DataAccessException e) {
+            batch.forEach(indexed -> errors.add(new BulkIngestErrorDTO(indexed.index(), "Batch failed: " + e.getMostSpecificCause().getMessage())));
+            return 0;
+        }
+
+        errors.addAll(batchErrors);
+        return written == null ? 0 : written;
+    }
+
+    // keepAcceptedDate: дата из DTO - время приема транзакции фоновой очередью. Записи журнала,
+    // принятые без даты, получают время записи.
+    private int insertBatch(List<IndexedTransaction> batch, boolean keepAcceptedDate, List<BulkIngestErrorDTO> batchErrors) {
+
+        Set<Long> sellerIds = batch.stream()
+                .map(indexed -> indexed.transaction().getSellerId())
+                .collect(Collectors.toSet());
+        Set<Long> existingSellerIds = new HashSet<>(iSellerRepository.findExistingIds(sellerIds));
+
+        List<Transaction> transactionsToInsert = new ArrayList<>(batch.size());
+        Map<DailySalesKey, DailySales> dailySales = new HashMap<>();
+        for (IndexedTransaction indexed : batch) {
+            Long sellerId = indexed.transaction().getSellerId();
+            if (!existingSellerIds.contains(sellerId)) {
+                batchErrors.add(new BulkIngestErrorDTO(indexed.index(), "Seller not found with id " + sellerId));
+                continue;
+            }
+
+            // Как и при одиночном создании, дата транзакции проставляется сервером.
+            Transaction transaction = transactionMapper.toEntity(indexed.transaction());
+            transaction.setSeller(iSellerRepository.getReferenceById(sellerId));
+            if (keepAcceptedDate && indexed.transaction().getTransactionDate() != null) {
+                transaction.setTransactionDate(indexed.transaction().getTransactionDate());
+            }
+            transactionsToInsert.add(transaction);
+
+            DailySalesKey key = new DailySalesKey(sellerId,
+                    transaction.getTransactionDate().toLocalDate(), transaction.getPaymentType());
+            dailySales.computeIfAbsent(key, k -> new DailySales()).add(transaction.getAmount());
+        }
+
+        if (transactionsToInsert.isEmpty()) {
+            return 0;
+        }
+
+        // Идентификаторы берутся из последовательности блоками, поэтому Hibernate
+        // отправляет insert пачками по hibernate.jdbc.batch_size.
+        iTransactionRepository.saveAll(transactionsToInsert);
+        dailySales.forEach((key, sales) -> {
+            sellerDailySalesService.recordSales(key.sellerId(), key.salesDate(), key.paymentType(), sales.transactionCount, sales.amount);
+            sellerLeaderboard.recordSale(key.sellerId(), key.salesDate(), sales.amount);
+            sellerTotalsStore.recordSale(key.sellerId(), key.paymentType(), sales.amount);
+        });
+
+        // Даты принятых очередью транзакций не обязаны возрастать по порядку строк.
+        eventPublisher.publishEvent(new TransactionsCreatedEvent(
+                transactionsToInsert.stream().map(Transaction::getTransactionDate).min(Comparator.naturalOrder()).orElseThrow(),
+                transactionsToInsert.stream().map(Transaction::getTransactionDate).max(Comparator.naturalOrder()).orElseThrow()));
+
+        // Контекст очищается после каждой пачки, чтобы не накапливать сущности за всю загрузку.
+        iTransactionRepository.flush();
+        entityManager.clear();
+        return transactionsToInsert.size();
+    }
+
+    private record IndexedTransaction(int index, TransactionDTO transaction) {
+    }
+
+    private record DailySalesKey(Long sellerId, LocalDate salesDate, PaymentType paymentType) {
+    }
+
+    private static class DailySales {
+
+        private long transactionCount;
+        private BigDecimal amount = BigDecimal.ZERO;
+
+        void add(BigDecimal transactionAmount) {
+            transactionCount++;
+            amount = amount.add(transactionAmount);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+// Журнал фоновой записи: по строке JSON на принятую транзакцию и на каждую завершенную.
+// Принятые, но не завершенные записи повторяются после перезапуска. Когда незавершенных не остается, файл обнуляется.
+class TransactionJournal implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionJournal.class);
+
+    enum RecordType {
+        ACCEPTED,
+        DONE
+    }
+
+    record JournalRecord(RecordType type, UUID id, TransactionDTO transaction) {
+    }
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+    private final boolean fsync;
+    private FileChannel channel;
+    private int outstanding;
+
+    TransactionJournal(Path path, ObjectMapper objectMapper, boolean fsync) {
+
+        this.path = path;
+        this.objectMapper = objectMapper;
+        this.fsync = fsync;
+    }
+
+    // Возвращает незавершенные записи в порядке приема и переписывает журнал только с ними.
+    synchronized List<JournalRecord> recover() throws IOException {
+
+        Map<UUID, JournalRecord> accepted = new LinkedHashMap<>();
+        Set<UUID> done = new HashSet<>();
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        JournalRecord record = objectMapper.readValue(line, JournalRecord.class);
+                        if (record.type() == RecordType.ACCEPTED) {
+                            accepted.put(record.id(), record);
+                        } else {
+                            done.add(record.id());
+                        }
+                    } catch (JsonProcessingException e) {
+                        // Недописанная строка при аварийной остановке: запрос по ней не был подтвержден клиенту.
+                        log.warn("Skipping unreadable write-behind journal line");
+                    }
+                }
+            }
+        }
+        done.forEach(accepted::remove);
+        List<JournalRecord> pending = new ArrayList<>(accepted.values());
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.write(compacted, toBytes(pending));
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        outstanding = pending.size();
+        return pending;
+    }
+
+    synchronized void appendAccepted(UUID id, TransactionDTO transaction) throws IOException {
+
+        write(toBytes(List.of(new JournalRecord(RecordType.ACCEPTED, id, transaction))));
+        outstanding++;
+    }
+
+    synchronized void appendDone(Collection<UUID> ids) throws IOException {
+
+        List<JournalRecord> records = ids.stream()
+                .map(id -> new JournalRecord(RecordType.DONE, id, null))
+                .toList();
+        write(toBytes(records));
+        outstanding -= records.size();
+        if (outstanding <= 0) {
+            outstanding = 0;
+            channel.truncate(0);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void write(byte[] bytes) throws IOException {
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+    }
+
+    private byte[] toBytes(List<JournalRecord> records) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        for (JournalRecord record : records) {
+            bytes.write(objectMapper.writeValueAsBytes(record));
+            bytes.write('\n');
+        }
+        return bytes.toByteArray();
+    }
+}
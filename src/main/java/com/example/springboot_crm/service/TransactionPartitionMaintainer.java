@@ -0,0 +1,79 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.config.DatabasePlatform;
+import com.example.springboot_crm.repository.TransactionPartitionJdbcRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+import java.util.List;
+
+// Заранее создает месячные секции таблицы transaction и удаляет секции старше срока хранения.
+// Работает только на PostgreSQL с секционированной таблицей; на других базах ничего не делает.
+@Service
+public class TransactionPartitionMaintainer {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionMaintainer.class);
+
+    private final TransactionPartitionJdbcRepository transactionPartitionJdbcRepository;
+    private final DatabasePlatform databasePlatform;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    public TransactionPartitionMaintainer(TransactionPartitionJdbcRepository transactionPartitionJdbcRepository,
+                                          DatabasePlatform databasePlatform,
+                                          @Value("${crm.partitions.months-ahead:2}") int monthsAhead,
+                                          @Value("${crm.partitions.retention-months:0}") int retentionMonths) {
+
+        this.transactionPartitionJdbcRepository = transactionPartitionJdbcRepository;
+        this.databasePlatform = databasePlatform;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${crm.partitions.cron:0 0 3 * * *}")
+    public void maintainPartitions() {
+
+        try {
+            maintainPartitions(YearMonth.now());
+        } catch (DataAccessException e) {
+            // Следующий запуск повторит попытку; до этого строки попадают в секцию по умолчанию
+            // и переносятся в месячную секцию при ее создании.
+            log.error("Transaction partition maintenance failed", e);
+        }
+    }
+
+    void maintainPartitions(YearMonth currentMonth) {
+
+        if (!databasePlatform.isPostgreSql() || !transactionPartitionJdbcRepository.isPartitioned()) {
+            return;
+        }
+
+        List<YearMonth> existingPartitions = transactionPartitionJdbcRepository.findMonthlyPartitions();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = currentMonth.plusMonths(i);
+            if (!existingPartitions.contains(month)) {
+                transactionPartitionJdbcRepository.createMonthlyPartition(month);
+                log.info("Created transaction partition for {}", month);
+            }
+        }
+
+        // Срок хранения 0 - секции не удаляются. Агрегаты seller_daily_sales при этом сохраняются.
+        if (retentionMonths > 0) {
+            YearMonth oldestRetainedMonth = currentMonth.minusMonths(retentionMonths);
+            for (YearMonth month : existingPartitions) {
+                if (month.isBefore(oldestRetainedMonth)) {
+                    transactionPartitionJdbcRepository.dropMonthlyPartition(month);
+                    log.info("Dropped transaction partition for {}", month);
+                }
+            }
+        }
+    }
+}
@@ -1,71 +1,137 @@
 package com.example.springboot_crm.service;
 
 import com.example.springboot_crm.dto.TransactionDTO;
-import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.dto.TransactionPageDTO;
 import com.example.springboot_crm.entity.Transaction;
 import com.example.springboot_crm.exception.ResourceNotFoundException;
 import com.example.springboot_crm.mapper.TransactionMapper;
 import com.example.springboot_crm.repository.ISellerRepository;
 import com.example.springboot_crm.repository.ITransactionRepository;
+import com.example.springboot_crm.repository.TransactionJdbcRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 @Service
+@Timed(value = "crm.service", histogram = true)
 public class TransactionService {
 
+    public static final int MAX_PAGE_SIZE = 1000;
+
     private final ITransactionRepository iTransactionRepository;
     private final ISellerRepository iSellerRepository;
+    private final SellerService sellerService;
+    private final TransactionJdbcRepository transactionJdbcRepository;
+    private final SellerDailySalesService sellerDailySalesService;
+    private final SellerLeaderboard sellerLeaderboard;
+    private final SellerTotalsStore sellerTotalsStore;
+    private final ApplicationEventPublisher eventPublisher;
     private final TransactionMapper transactionMapper;
 
-    public TransactionService(ITransactionRepository iTransactionRepository, ISellerRepository iSellerRepository, TransactionMapper transactionMapper) {
+    public TransactionService(ITransactionRepository iTransactionRepository, ISellerRepository iSellerRepository,
+                              SellerService sellerService, TransactionJdbcRepository transactionJdbcRepository,
+                              SellerDailySalesService sellerDailySalesService, SellerLeaderboard sellerLeaderboard,
+                              SellerTotalsStore sellerTotalsStore, ApplicationEventPublisher eventPublisher,
+                              TransactionMapper transactionMapper) {
 
         this.iTransactionRepository = iTransactionRepository;
         this.iSellerRepository = iSellerRepository;
+        this.sellerService = sellerService;
+        this.transactionJdbcRepository = transactionJdbcRepository;
+        this.sellerDailySalesService = sellerDailySalesService;
+        this.sellerLeaderboard = sellerLeaderboard;
+        this.sellerTotalsStore = sellerTotalsStore;
+        this.eventPublisher = eventPublisher;
         this.transactionMapper = transactionMapper;
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getAllTransactions() {
 
-        List<Transaction> transactions = iTransactionRepository.findAll();
+        List<TransactionDTO> transactions = iTransactionRepository.findAllDTOs();
         if (transactions.isEmpty()) {
             throw new ResourceNotFoundException("No transactions found");
         }
 
-        return transactions.stream()
-                .map(transactionMapper::toDTO)
-                .collect(Collectors.toList());
+        return transactions;
+    }
+
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionsPage(String cursor, int size) {
+
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Запрашиваем на одну строку больше, чтобы понять, есть ли следующая страница.
+        Pageable pageable = PageRequest.of(0, pageSize + 1);
+
+        List<TransactionDTO> transactions;
+        if (cursor == null || cursor.isBlank()) {
+            transactions = iTransactionRepository.findFirstPage(pageable);
+        } else {
+            TransactionCursor position = TransactionCursor.decode(cursor);
+            transactions = iTransactionRepository.findPageAfter(position.transactionDate(), position.id(), pageable);
+        }
+
+        String nextCursor = null;
+        if (transactions.size() > pageSize) {
+            transactions = transactions.subList(0, pageSize);
+            TransactionDTO last = transactions.get(pageSize - 1);
+            nextCursor = new TransactionCursor(last.getTransactionDate(), last.getId()).encode();
+        }
+
+        return new TransactionPageDTO(transactions, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public void streamAllTransactions(Consumer<TransactionDTO> consumer) {
+
+        transactionJdbcRepository.streamAll(consumer);
     }
 
+    @Transactional(readOnly = true)
+    public void exportTransactions(LocalDateTime start, LocalDateTime end, Long sellerId, Consumer<TransactionDTO> consumer) {
+
+        transactionJdbcRepository.streamBetween(start, end, sellerId, consumer);
+    }
+
+    @Transactional(readOnly = true)
     public TransactionDTO getTransactionById(Long id) {
 
-        Transaction transaction = iTransactionRepository.findById(id)
+        return iTransactionRepository.findDTOById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id " + id));
-
-        return transactionMapper.toDTO(transaction);
     }
 
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsBySellerId(Long sellerId) {
 
-        List<Transaction> transactions = iTransactionRepository.findBySellerId(sellerId);
+        List<TransactionDTO> transactions = iTransactionRepository.findDTOsBySellerId(sellerId);
         if (transactions.isEmpty()) {
             throw new ResourceNotFoundException("No transactions found for seller with id " + sellerId);
         }
 
-        return transactions.stream()
-                .map(transactionMapper::toDTO)
-                .collect(Collectors.toList());
+        return transactions;
     }
 
+    @Transactional
     public TransactionDTO createTransaction(Long sellerId, TransactionDTO transactionDTO) {
 
-        Seller seller = iSellerRepository.findById(sellerId)
-                .orElseThrow(() -> new ResourceNotFoundException("Seller not found with id " + sellerId));
+        // Существование продавца проверяется через кэш, а для внешнего ключа достаточно ссылки без загрузки сущности.
+        sellerService.getSellerById(sellerId);
 
         Transaction transaction = transactionMapper.toEntity(transactionDTO);
-        transaction.setSeller(seller);
+        transaction.setSeller(iSellerRepository.getReferenceById(sellerId));
         Transaction savedTransaction = iTransactionRepository.save(transaction);
+        sellerDailySalesService.recordSales(sellerId, savedTransaction.getTransactionDate().toLocalDate(),
+                savedTransaction.getPaymentType(), 1, savedTransaction.getAmount());
+        sellerLeaderboard.recordSale(sellerId, savedTransaction.getTransactionDate().toLocalDate(), savedTransaction.getAmount());
+        sellerTotalsStore.recordSale(sellerId, savedTransaction.getPaymentType(), savedTransaction.getAmount());
+        eventPublisher.publishEvent(TransactionsCreatedEvent.of(savedTransaction.getTransactionDate()));
         return transactionMapper.toDTO(savedTransaction);
     }
 }
\ No newline at end of file
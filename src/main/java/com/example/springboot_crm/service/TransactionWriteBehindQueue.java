@@ -0,0 +1,214 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestErrorDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.WriteBehindStatusDTO;
+import com.example.springboot_crm.exception.QueueFullException;
+import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Фоновая запись транзакций: запрос подтверждается после записи в журнал и постановки в ограниченную очередь,
+// а отдельный поток пишет очередь в базу пачками. Пока пачка не записана, ее записи остаются в журнале
+// и повторяются после перезапуска. Ошибки базы повторяются, ошибки отдельных строк фиксируются в статусе,
+// остальные ошибки отклоняют пачку целиком.
+@Service
+@ConditionalOnProperty(name = "crm.write-behind.enabled", havingValue = "true")
+public class TransactionWriteBehindQueue implements InitializingBean, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionWriteBehindQueue.class);
+
+    private final TransactionIngestService transactionIngestService;
+    private final BlockingQueue<PendingTransaction> queue;
+    private final TransactionJournal journal;
+    private final Cache<UUID, WriteBehindStatusDTO> statuses;
+    private final int batchSize;
+    private final Duration retryDelay;
+    private final Thread drainer;
+    private volatile boolean running = true;
+
+    public TransactionWriteBehindQueue(TransactionIngestService transactionIngestService, ObjectMapper objectMapper,
+                                       @Value("${crm.write-behind.capacity:10000}") int capacity,
+                                       @Value("${crm.write-behind.batch-size:500}") int batchSize,
+                                       @Value("${crm.write-behind.journal:data/write-behind.journal}") Path journalPath,
+                                       @Value("${crm.write-behind.fsync:true}") boolean fsync,
+                                       @Value("${crm.write-behind.retry-delay:1s}") Duration retryDelay,
+                                       @Value("${crm.write-behind.status-ttl:1h}") Duration statusTtl) {
+
+        this.transactionIngestService = transactionIngestService;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.journal = new TransactionJournal(journalPath, objectMapper, fsync);
+        // Статусы незаписанных транзакций не должны вытесняться: их не больше емкости очереди.
+        this.statuses = Caffeine.newBuilder()
+                .maximumSize(capacity + 100_000L)
+                .expireAfterWrite(statusTtl)
+                .build();
+        this.batchSize = batchSize;
+        this.retryDelay = retryDelay;
+        this.drainer = new Thread(this::drain, "write-behind-drainer");
+        this.drainer.setDaemon(true);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+
+        List<TransactionJournal.JournalRecord> pending = journal.recover();
+        if (!pending.isEmpty()) {
+            log.info("Replaying {} write-behind transactions from journal", pending.size());
+        }
+        drainer.start();
+        // Очередь может оказаться меньше журнала: put ждет, пока поток записи освободит место.
+        for (TransactionJournal.JournalRecord record : pending) {
+            statuses.put(record.id(), new WriteBehindStatusDTO(record.id(), WriteBehindStatusDTO.Status.PENDING, null));
+            queue.put(new PendingTransaction(record.id(), record.transaction()));
+        }
+    }
+
+    public WriteBehindStatusDTO enqueue(Long sellerId, TransactionDTO transactionDTO) {
+
+        if (queue.remainingCapacity() == 0) {
+            throw new QueueFullException("Write-behind queue is full, retry later");
+        }
+
+        transactionDTO.setSellerId(sellerId);
+        // Время продажи - момент приема, а не момент записи пачки: запись может ждать повторов
+        // или восстановления журнала после перезапуска.
+        transactionDTO.setTransactionDate(LocalDateTime.now());
+        UUID id = UUID.randomUUID();
+        WriteBehindStatusDTO status = new WriteBehindStatusDTO(id, WriteBehindStatusDTO.Status.PENDING, null);
+        statuses.put(id, status);
+        try {
+            journal.appendAccepted(id, transactionDTO);
+            if (!queue.offer(new PendingTransaction(id, transactionDTO))) {
+                journal.appendDone(List.of(id));
+                statuses.invalidate(id);
+                throw new QueueFullException("Write-behind queue is full, retry later");
+            }
+        } catch (IOException e) {
+            statuses.invalidate(id);
+            throw new UncheckedIOException(e);
+        }
+        return status;
+    }
+
+    public WriteBehindStatusDTO getStatus(UUID id) {
+
+        WriteBehindStatusDTO status = statuses.getIfPresent(id);
+        if (status == null) {
+            throw new ResourceNotFoundException("Write-behind transaction not found with id " + id);
+        }
+        return status;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    private void drain() {
+
+        List<PendingTransaction> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                PendingTransaction first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                writeBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // Пачка остается в журнале и будет повторена после перезапуска; записанные строки при этом пропускаются.
+                log.error("Write-behind batch of {} transactions failed", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Идентификаторы записанных строк сохраняются в базе вместе со строками: если процесс остановится
+    // между фиксацией и отметкой в журнале, повтор пачки после перезапуска не запишет их второй раз.
+    private void writeBatch(List<PendingTransaction> batch) throws IOException, InterruptedException {
+
+        List<TransactionDTO> transactions = batch.stream().map(PendingTransaction::transaction).toList();
+        List<UUID> ids = batch.stream().map(PendingTransaction::id).toList();
+        List<BulkIngestErrorDTO> errors;
+        while (true) {
+            try {
+                errors = transactionIngestService.ingestBatch(transactions, ids);
+                break;
+            } catch (DataAccessException | TransactionException e) {
+                log.warn("Write-behind batch failed, retrying in {}: {}", retryDelay, e.getMostSpecificCause().getMessage());
+                if (!running) {
+                    return;
+                }
+                Thread.sleep(retryDelay.toMillis());
+            } catch (RuntimeException e) {
+                // Ошибка не связана с доступностью базы, и повтор ее не исправит: вся пачка отклоняется.
+                log.error("Write-behind batch of {} transactions failed", batch.size(), e);
+                String error = "Batch failed: " + e.getMessage();
+                errors = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    errors.add(new BulkIngestErrorDTO(i, error));
+                }
+                break;
+            }
+        }
+
+        Map<Integer, String> errorsByIndex = new HashMap<>();
+        errors.forEach(error -> errorsByIndex.put(error.getIndex(), error.getMessage()));
+        for (int i = 0; i < batch.size(); i++) {
+            UUID id = ids.get(i);
+            String error = errorsByIndex.get(i);
+            statuses.put(id, new WriteBehindStatusDTO(id,
+                    error == null ? WriteBehindStatusDTO.Status.WRITTEN : WriteBehindStatusDTO.Status.FAILED, error));
+        }
+        journal.appendDone(ids);
+
+        try {
+            transactionIngestService.forgetIngestIds(ids);
+        } catch (RuntimeException e) {
+            // Оставшиеся идентификаторы ни на что не влияют: журнал эти записи больше не повторит.
+            log.warn("Failed to clean up write-behind ingest ids: {}", e.getMessage());
+        }
+    }
+
+    // Незаписанные транзакции остаются в журнале до следующего запуска.
+    @Override
+    public void destroy() throws Exception {
+
+        running = false;
+        // Текущая пачка дописывается; прерывание нужно, только если поток ждет повтора слишком долго.
+        drainer.join(TimeUnit.SECONDS.toMillis(10));
+        if (drainer.isAlive()) {
+            drainer.interrupt();
+            drainer.join(TimeUnit.SECONDS.toMillis(1));
+        }
+        journal.close();
+    }
+
+    private record PendingTransaction(UUID id, TransactionDTO transaction) {
+    }
+}
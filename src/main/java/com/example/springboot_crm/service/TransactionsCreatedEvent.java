@@ -0,0 +1,11 @@
+package com.example.springboot_crm.service;
+
+import java.time.LocalDateTime;
+
+// Публикуется после записи транзакций; границы - минимальная и максимальная дата записанных транзакций.
+public record TransactionsCreatedEvent(LocalDateTime earliestTransactionDate, LocalDateTime latestTransactionDate) {
+
+    public static TransactionsCreatedEvent of(LocalDateTime transactionDate) {
+        return new TransactionsCreatedEvent(transactionDate, transactionDate);
+    }
+}
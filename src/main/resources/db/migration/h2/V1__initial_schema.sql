@@ -0,0 +1,21 @@
+-- Та же исходная схема, что и для PostgreSQL; колонкам serial соответствуют последовательности с шагом 1.
+create sequence seller_id_seq;
+create sequence transaction_id_seq;
+
+create table seller
+(
+  id                 bigint default next value for seller_id_seq primary key,
+  name               varchar(30) not null,
+  contact_info       varchar(30) unique not null,
+  registration_date  timestamp not null default now()
+);
+
+create table transaction
+(
+  id                bigint default next value for transaction_id_seq primary key,
+  seller_id         bigint not null,
+  amount            decimal(10, 2) not null,
+  payment_type      varchar(10) not null,
+  transaction_date  timestamp not null default now(),
+  constraint fk_transaction_seller foreign key (seller_id) references seller(id)
+);
@@ -0,0 +1,4 @@
+-- Шаг последовательности совпадает с crm.ids.*.allocation-size (pooled-оптимизатор Hibernate).
+-- База H2 создается пустой, поэтому текущее значение последовательностей не сдвигается.
+alter sequence seller_id_seq increment by 20;
+alter sequence transaction_id_seq increment by 100;
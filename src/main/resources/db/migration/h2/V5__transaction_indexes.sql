@@ -0,0 +1,4 @@
+-- H2 не поддерживает INCLUDE, поэтому amount входит в ключ индекса.
+create index ix_transaction_seller_date on transaction (seller_id, transaction_date, amount);
+
+create index ix_transaction_date_id on transaction (transaction_date, id);
@@ -0,0 +1,2 @@
+-- H2 не поддерживает декларативное секционирование: таблица transaction остается обычной.
+-- Миграция сохраняет одинаковую нумерацию версий для всех баз.
@@ -0,0 +1,6 @@
+-- Идентификаторы записей журнала фоновой записи, строки которых уже записаны в transaction.
+-- Сохраняются в одной транзакции со строками: пачка, повторенная после сбоя, пропускает уже записанные строки.
+create table write_behind_ingest
+(
+  ingest_id  uuid primary key
+);
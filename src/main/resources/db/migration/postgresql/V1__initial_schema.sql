@@ -1,3 +1,5 @@
+-- Исходная схема (бывший createdb.sql). Существующая база, созданная им до появления миграций,
+-- принимается за эту версию (spring.flyway.baseline-version=1), и к ней применяются следующие миграции.
 create type payment_type_enum as enum ('CASH', 'CARD', 'TRANSFER');
 
 create table seller
@@ -16,4 +18,4 @@ create table transaction
   payment_type      payment_type_enum not null,
   transaction_date  timestamp not null default now(),
   constraint "fk_transaction_seller" foreign key (seller_id) references seller(id) on delete restrict on update restrict
-);
\ No newline at end of file
+);
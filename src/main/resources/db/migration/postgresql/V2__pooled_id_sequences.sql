@@ -0,0 +1,11 @@
+-- Перевод последовательностей колонок serial на pooled-оптимизатор Hibernate.
+-- Шаг последовательности должен совпадать с crm.ids.seller.allocation-size и crm.ids.transaction.allocation-size,
+-- иначе Hibernate не запустится.
+-- Значение сдвигается на один шаг выше текущего максимума: Hibernate считает полученное из
+-- последовательности значение верхней границей блока, и выданные ранее id не пересекаются с новыми.
+
+alter sequence seller_id_seq increment by 20;
+select setval('seller_id_seq', (select coalesce(max(id), 0) from seller) + 20);
+
+alter sequence transaction_id_seq increment by 100;
+select setval('transaction_id_seq', (select coalesce(max(id), 0) from transaction) + 100);
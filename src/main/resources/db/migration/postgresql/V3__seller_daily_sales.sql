@@ -0,0 +1,11 @@
+-- Дневные суммы продаж продавца по способам оплаты; целые дни периода читаются отсюда, а не из transaction.
+create table seller_daily_sales
+(
+  seller_id          int not null,
+  sales_date         date not null,
+  payment_type       varchar(10) not null,
+  transaction_count  bigint not null,
+  total_amount       decimal(19, 2) not null,
+  primary key (seller_id, sales_date, payment_type),
+  constraint "fk_seller_daily_sales_seller" foreign key (seller_id) references seller(id) on delete restrict on update restrict
+);
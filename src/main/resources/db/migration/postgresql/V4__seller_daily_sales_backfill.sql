@@ -0,0 +1,5 @@
+-- Заполнение агрегатов для уже существующих транзакций.
+insert into seller_daily_sales (seller_id, sales_date, payment_type, transaction_count, total_amount)
+select seller_id, cast(transaction_date as date), cast(payment_type as varchar(10)), count(*), sum(amount)
+from transaction
+group by seller_id, cast(transaction_date as date), payment_type;
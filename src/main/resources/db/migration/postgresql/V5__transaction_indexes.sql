@@ -0,0 +1,6 @@
+-- Выборки транзакций продавца за период (в том числе агрегирующие) читают только индекс:
+-- amount добавлен в INCLUDE и не входит в ключ.
+create index ix_transaction_seller_date on transaction (seller_id, transaction_date) include (amount);
+
+-- Постраничная выборка по курсору и выборки по периоду без продавца.
+create index ix_transaction_date_id on transaction (transaction_date, id);
@@ -0,0 +1,52 @@
+-- Таблица транзакций секционируется по месяцам по transaction_date.
+-- Первичный ключ секционированной таблицы обязан включать ключ секционирования.
+
+alter table transaction rename to transaction_unpartitioned;
+alter table transaction_unpartitioned rename constraint transaction_pkey to transaction_unpartitioned_pkey;
+alter sequence transaction_id_seq owned by none;
+drop index ix_transaction_seller_date;
+drop index ix_transaction_date_id;
+
+create table transaction
+(
+  id                int not null default nextval('transaction_id_seq'),
+  seller_id         int not null,
+  amount            decimal(10, 2) not null,
+  payment_type      payment_type_enum not null,
+  transaction_date  timestamp not null default now(),
+  primary key (id, transaction_date),
+  constraint "fk_transaction_seller_partitioned" foreign key (seller_id) references seller(id) on delete restrict on update restrict
+) partition by range (transaction_date);
+
+alter sequence transaction_id_seq owned by transaction.id;
+
+-- Секции по месяцам с первой транзакции до следующего месяца; дальше их заранее создает приложение.
+do $$
+declare
+  partition_month date;
+begin
+  for partition_month in
+    select generate_series(date_trunc('month', coalesce(bounds.first_date, localtimestamp)),
+                           date_trunc('month', localtimestamp) + interval '1 month',
+                           interval '1 month')::date
+    from (select min(transaction_date) as first_date from transaction_unpartitioned) bounds
+  loop
+    execute format('create table %I partition of transaction for values from (%L) to (%L)',
+                   'transaction_' || to_char(partition_month, '"y"YYYY"m"MM'),
+                   partition_month,
+                   (partition_month + interval '1 month')::date);
+  end loop;
+end $$;
+
+-- Строки вне созданных секций (например, при остановленном планировщике) попадают сюда.
+create table transaction_default partition of transaction default;
+
+insert into transaction (id, seller_id, amount, payment_type, transaction_date)
+select id, seller_id, amount, payment_type, transaction_date
+from transaction_unpartitioned;
+
+drop table transaction_unpartitioned;
+
+-- Индексы на родительской таблице создаются во всех секциях, в том числе будущих.
+create index ix_transaction_seller_date on transaction (seller_id, transaction_date) include (amount);
+create index ix_transaction_date_id on transaction (transaction_date, id);
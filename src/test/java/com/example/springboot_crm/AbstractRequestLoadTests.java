@@ -0,0 +1,112 @@
+package com.example.springboot_crm;
+
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Нагрузочный сценарий: заданное число одновременных клиентов запрашивают продавца по id (запрос в базу на каждый вызов).
+// Сравнение режимов - по выводу PlatformThreadRequestLoadTests и VirtualThreadRequestLoadTests.
+public abstract class AbstractRequestLoadTests {
+
+    private static final int CLIENTS = Integer.getInteger("crm.benchmark.clients", 2000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("crm.benchmark.requests-per-client", 10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    private Seller seller;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    protected abstract String mode();
+
+    @Test
+    public void loadGetSellerById() throws Exception {
+
+        URI uri = URI.create("http://localhost:" + port + "/api/springboot_crm/sellers/" + seller.getId());
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(CLIENTS * REQUESTS_PER_CLIENT));
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        long elapsedNanos;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor();
+             HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build()) {
+
+            HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(60)).GET().build();
+            for (int i = 0; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    start.await();
+                    for (int j = 0; j < REQUESTS_PER_CLIENT; j++) {
+                        long requestStart = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies.add(System.nanoTime() - requestStart);
+                    }
+                    return null;
+                });
+            }
+
+            long startNanos = System.nanoTime();
+            start.countDown();
+            clients.shutdown();
+            assertTrue(clients.awaitTermination(10, TimeUnit.MINUTES));
+            elapsedNanos = System.nanoTime() - startNanos;
+        }
+
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        double throughput = sorted.size() / (elapsedNanos / 1_000_000_000.0);
+        System.out.printf("%s: %d clients x %d requests, throughput %.0f req/s, p50 %.1f ms, p99 %.1f ms, failures %d%n",
+                mode(), CLIENTS, REQUESTS_PER_CLIENT, throughput,
+                percentileMillis(sorted, 0.50), percentileMillis(sorted, 0.99), failures.get());
+
+        assertEquals(CLIENTS * REQUESTS_PER_CLIENT, sorted.size());
+    }
+
+    private double percentileMillis(List<Long> sortedNanos, double percentile) {
+
+        int index = (int) Math.ceil(percentile * sortedNanos.size()) - 1;
+        return sortedNanos.get(Math.max(index, 0)) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.springboot_crm;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Оборачивает DataSource и считает, сколько раз соединение было взято из пула.
+@TestConfiguration
+public class ConnectionCountingConfiguration {
+
+    private static final AtomicInteger connectionCount = new AtomicInteger();
+
+    public static int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    public static void clear() {
+        connectionCount.set(0);
+    }
+
+    @Bean
+    public static BeanPostProcessor connectionCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionCountingDataSource)) {
+                    return new ConnectionCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static class ConnectionCountingDataSource extends DelegatingDataSource {
+
+        ConnectionCountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connectionCount.incrementAndGet();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            connectionCount.incrementAndGet();
+            return super.getConnection(username, password);
+        }
+    }
+}
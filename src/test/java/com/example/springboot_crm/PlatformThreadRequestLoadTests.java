@@ -0,0 +1,16 @@
+package com.example.springboot_crm;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+
+// Запускается отдельно: ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.threads.virtual.enabled=false")
+public class PlatformThreadRequestLoadTests extends AbstractRequestLoadTests {
+
+    @Override
+    protected String mode() {
+        return "Platform threads";
+    }
+}
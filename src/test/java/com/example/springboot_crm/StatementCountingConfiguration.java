@@ -0,0 +1,16 @@
+package com.example.springboot_crm;
+
+import net.ttddyy.dsproxy.listener.DataSourceQueryCountListener;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+// Добавляет к datasource-proxy приложения (DataSourceProxyConfiguration) счетчик запросов:
+// количество выполненных JDBC-запросов текущего потока доступно через QueryCountHolder.
+@TestConfiguration
+public class StatementCountingConfiguration {
+
+    @Bean
+    public DataSourceQueryCountListener dataSourceQueryCountListener() {
+        return new DataSourceQueryCountListener();
+    }
+}
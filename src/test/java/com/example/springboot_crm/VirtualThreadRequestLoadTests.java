@@ -0,0 +1,17 @@
+package com.example.springboot_crm;
+
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// Запускается отдельно: ./gradlew benchmark
+@Tag("benchmark")
+@ActiveProfiles("virtual-threads")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class VirtualThreadRequestLoadTests extends AbstractRequestLoadTests {
+
+    @Override
+    protected String mode() {
+        return "Virtual threads";
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.springboot_crm.config;
+
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
+import com.example.springboot_crm.service.SellerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Порог 0 мс: медленным считается каждый запрос, а sample-rate 0 не пишет их в лог.
+@SpringBootTest(properties = {
+        "management.observations.annotations.enabled=true",
+        "crm.slow-query.threshold=0ms",
+        "crm.slow-query.sample-rate=0"
+})
+public class MetricsInstrumentationTests {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private SellerSalesJdbcRepository sellerSalesJdbcRepository;
+
+
+    @AfterEach
+    public void tearDown() {
+        iSellerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Test service timers - Each service method is timed with class and method tags")
+    public void testServiceTimer() {
+
+        long before = serviceTimerCount("getAllSellers");
+
+        sellerService.getAllSellers();
+        sellerService.getAllSellers();
+
+        assertEquals(before + 2, serviceTimerCount("getAllSellers"));
+    }
+
+    @Test
+    @DisplayName("Test repository metrics - Calls and returned rows are counted per repository method")
+    public void testRepositoryMetrics() {
+
+        iSellerRepository.saveAll(List.of(
+                new Seller("Seller 1", "seller1@example.com"),
+                new Seller("Seller 2", "seller2@example.com")));
+        double callsBefore = repositoryCalls("ISellerRepository", "findAll");
+        double rowsBefore = repositoryRows("ISellerRepository", "findAll");
+
+        iSellerRepository.findAll();
+
+        assertEquals(callsBefore + 1, repositoryCalls("ISellerRepository", "findAll"));
+        assertEquals(rowsBefore + 2, repositoryRows("ISellerRepository", "findAll"));
+
+        double jdbcCallsBefore = repositoryCalls("SellerSalesJdbcRepository", "findPaymentTypeTotals");
+        sellerSalesJdbcRepository.findPaymentTypeTotals();
+        assertEquals(jdbcCallsBefore + 1, repositoryCalls("SellerSalesJdbcRepository", "findPaymentTypeTotals"));
+    }
+
+    @Test
+    @DisplayName("Test slow query log - Statements over the threshold are counted")
+    public void testSlowQueryCounter() {
+
+        double before = meterRegistry.get("crm.jdbc.slow-queries").counter().count();
+
+        iSellerRepository.count();
+
+        assertTrue(meterRegistry.get("crm.jdbc.slow-queries").counter().count() > before);
+    }
+
+    @Test
+    @DisplayName("Test Hikari metrics - Connection pool gauges are registered")
+    public void testHikariGauges() {
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.max").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").gauge());
+    }
+
+    private long serviceTimerCount(String method) {
+
+        Timer timer = meterRegistry.find("crm.service")
+                .tags("class", SellerService.class.getName(), "method", method)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double repositoryCalls(String repository, String method) {
+
+        Counter counter = meterRegistry.find("crm.repository.calls").tags("repository", repository, "method", method).counter();
+        return Optional.ofNullable(counter).map(Counter::count).orElse(0.0);
+    }
+
+    private double repositoryRows(String repository, String method) {
+
+        DistributionSummary summary = meterRegistry.find("crm.repository.rows").tags("repository", repository, "method", method).summary();
+        return Optional.ofNullable(summary).map(DistributionSummary::totalAmount).orElse(0.0);
+    }
+}
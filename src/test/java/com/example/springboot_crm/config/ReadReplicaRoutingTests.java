@@ -0,0 +1,98 @@
+package com.example.springboot_crm.config;
+
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.service.SellerService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Две базы H2 в памяти: основная мигрируется приложением, "реплика" - в тесте.
+@SpringBootTest(properties = {
+        "crm.datasource.replicas[0].url=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "crm.datasource.replicas[0].username=sa",
+        "crm.datasource.replicas[0].password="
+})
+public class ReadReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:crm_replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate replicaJdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @BeforeAll
+    public static void setUpReplica() {
+
+        Flyway.configure()
+                .dataSource(REPLICA_URL, "sa", "")
+                .locations("classpath:db/migration/h2")
+                .load()
+                .migrate();
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from transaction");
+        iSellerRepository.deleteAllInBatch();
+        replicaJdbcTemplate.update("delete from seller");
+    }
+
+
+    @Test
+    @DisplayName("Test read-only methods - Reads are served by the replica, writes by the primary")
+    public void testReadReplicaRouting() {
+
+        replicaJdbcTemplate.update("insert into seller (name, contact_info, registration_date) values (?, ?, current_timestamp)",
+                "Replica Seller", "replica@example.com");
+
+        SellerDTO created = sellerService.createSeller(new SellerDTO(null, "Primary Seller", "primary@example.com", null));
+
+        List<SellerDTO> sellers = sellerService.getAllSellers();
+        assertEquals(1, sellers.size());
+        assertEquals("Replica Seller", sellers.get(0).getName());
+
+        // Записанный продавец есть только в основной базе.
+        assertTrue(iSellerRepository.existsById(created.getId()));
+        assertEquals(0, replicaJdbcTemplate.queryForObject("select count(*) from seller where name = 'Primary Seller'", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Test cached reads - Seller by id and analytics are loaded from the primary, not from a lagging replica")
+    public void testCachedReadsUsePrimary() {
+
+        SellerDTO created = sellerService.createSeller(new SellerDTO(null, "Primary Seller", "primary@example.com", null));
+        // Реплика еще не получила переименование и не знает о продаже.
+        replicaJdbcTemplate.update("insert into seller (id, name, contact_info, registration_date) values (?, ?, ?, current_timestamp)",
+                created.getId(), "Stale Seller", "primary@example.com");
+        sellerService.updateSeller(created.getId(), new SellerDTO(null, "Renamed Seller", "primary@example.com", null));
+        LocalDateTime saleDate = LocalDateTime.now().minusHours(1);
+        jdbcTemplate.update("insert into transaction (seller_id, amount, payment_type, transaction_date) values (?, ?, ?, ?)",
+                created.getId(), new BigDecimal("10.00"), "CARD", saleDate);
+
+        assertEquals("Renamed Seller", sellerService.getSellerById(created.getId()).getName());
+        assertEquals(created.getId(),
+                sellerService.getMostProductiveSeller(saleDate.minusMinutes(1), saleDate.plusMinutes(1)).getId());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.springboot_crm.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaRoutingDataSourceTests {
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+
+    @Test
+    @DisplayName("Test routing - Read-only transactions alternate between healthy replicas, writes go to primary")
+    public void testRouting_RoundRobin() throws Exception {
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-0", healthyDataSource());
+        replicas.put("replica-1", healthyDataSource());
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(mock(DataSource.class), replicas, Duration.ofSeconds(10));
+        dataSource.checkReplicas();
+
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Object first = dataSource.determineCurrentLookupKey();
+        Object second = dataSource.determineCurrentLookupKey();
+        assertNotEquals(first, second);
+        assertTrue(replicas.containsKey(first));
+        assertTrue(replicas.containsKey(second));
+    }
+
+    @Test
+    @DisplayName("Test routing - Unavailable replica is skipped until the next successful check")
+    public void testRouting_Fallback() throws Exception {
+
+        DataSource replica = healthyDataSource();
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(mock(DataSource.class),
+                Map.of("replica-0", replica), Duration.ofSeconds(10));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        // До первой проверки реплика не считается исправной.
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+
+        dataSource.checkReplicas();
+        assertEquals("replica-0", dataSource.determineCurrentLookupKey());
+
+        when(replica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        dataSource.checkReplicas();
+        assertEquals(ReplicaRoutingDataSource.PRIMARY, dataSource.determineCurrentLookupKey());
+        assertFalse(dataSource.getReplicaHealth().get("replica-0"));
+    }
+
+    private DataSource healthyDataSource() throws SQLException {
+
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getDatabaseProductName()).thenReturn("H2");
+        Connection connection = mock(Connection.class);
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(connection.isValid(anyInt())).thenReturn(true);
+        DataSource dataSource = mock(DataSource.class);
+        when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.springboot_crm.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaIndexVerifierTests {
+
+    private static final String CREATE_TABLE =
+            "create table transaction (id bigint primary key, seller_id bigint, amount decimal(10, 2), transaction_date timestamp)";
+
+
+    @Test
+    @DisplayName("Test afterPropertiesSet - Missing indexes fail startup")
+    public void testAfterPropertiesSet_MissingIndexes() {
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:missing_indexes;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_TABLE);
+        jdbcTemplate.execute("create index ix_transaction_date_id on transaction (transaction_date, id)");
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> new SchemaIndexVerifier(dataSource).afterPropertiesSet());
+
+        assertTrue(exception.getMessage().contains("transaction(seller_id, transaction_date)"));
+        assertFalse(exception.getMessage().contains("transaction(transaction_date, id)"));
+    }
+
+    @Test
+    @DisplayName("Test afterPropertiesSet - Indexes with extra trailing columns are accepted")
+    public void testAfterPropertiesSet_IndexesPresent() {
+
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:present_indexes;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute(CREATE_TABLE);
+        jdbcTemplate.execute("create index ix_transaction_seller_date on transaction (seller_id, transaction_date, amount)");
+        jdbcTemplate.execute("create index ix_transaction_date_id on transaction (transaction_date, id)");
+
+        assertDoesNotThrow(() -> new SchemaIndexVerifier(dataSource).afterPropertiesSet());
+    }
+}
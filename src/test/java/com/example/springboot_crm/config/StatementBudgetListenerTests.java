@@ -0,0 +1,73 @@
+package com.example.springboot_crm.config;
+
+import com.example.springboot_crm.exception.StatementBudgetExceededException;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatementBudgetListenerTests {
+
+    private final StatementBudgetListener failingListener = new StatementBudgetListener(true);
+    private final StatementBudgetListener loggingListener = new StatementBudgetListener(false);
+
+
+    @AfterEach
+    public void tearDown() {
+        failingListener.end();
+    }
+
+    @Test
+    @DisplayName("Test end - Statements between begin and end are counted")
+    public void testEnd_CountsStatements() {
+
+        loggingListener.begin("SellerController.getAllSellers", 10);
+        execute(loggingListener, 3);
+
+        assertEquals(3, loggingListener.end());
+        // После end запросы потока больше не учитываются.
+        execute(loggingListener, 2);
+        assertEquals(0, loggingListener.end());
+    }
+
+    @Test
+    @DisplayName("Test beforeQuery - Statement over the budget fails when failOnExceed is set")
+    public void testBeforeQuery_FailsOverBudget() {
+
+        failingListener.begin("SellerController.getAllSellers", 2);
+        execute(failingListener, 2);
+
+        StatementBudgetExceededException exception = assertThrows(StatementBudgetExceededException.class,
+                () -> execute(failingListener, 1));
+        assertTrue(exception.getMessage().contains("SellerController.getAllSellers"));
+    }
+
+    @Test
+    @DisplayName("Test beforeQuery - Statement over the budget is only counted without failOnExceed")
+    public void testBeforeQuery_CountsOverBudget() {
+
+        loggingListener.begin("SellerController.getAllSellers", 2);
+
+        assertDoesNotThrow(() -> execute(loggingListener, 5));
+        assertEquals(5, loggingListener.end());
+    }
+
+    @Test
+    @DisplayName("Test beforeQuery - Statements outside a request are ignored")
+    public void testBeforeQuery_OutsideRequest() {
+
+        assertDoesNotThrow(() -> execute(failingListener, 100));
+        assertEquals(0, failingListener.end());
+    }
+
+    private static void execute(StatementBudgetListener listener, int statements) {
+        for (int i = 0; i < statements; i++) {
+            listener.beforeQuery(new ExecutionInfo(), List.of());
+            listener.afterQuery(new ExecutionInfo(), List.of());
+        }
+    }
+}
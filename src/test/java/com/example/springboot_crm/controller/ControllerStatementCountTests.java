@@ -0,0 +1,219 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import com.example.springboot_crm.service.TransactionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Фиксирует число JDBC-запросов каждого эндпоинта по метрике crm.http.statements.
+// Рост числа запросов (например, вернувшийся N+1) ломает тест, а не только бюджет из application.properties.
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ControllerStatementCountTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller sellerWithSales;
+    private Seller sellerWithoutSales;
+    private TransactionDTO transaction;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        sellerWithSales = iSellerRepository.save(new Seller("Seller 1", "seller1@example.com"));
+        sellerWithoutSales = iSellerRepository.save(new Seller("Seller 2", "seller2@example.com"));
+        transaction = transactionService.createTransaction(sellerWithSales.getId(),
+                new TransactionDTO(null, null, BigDecimal.valueOf(1000), PaymentType.CARD, null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from seller_daily_sales");
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Test SellerController - Read endpoints")
+    public void testSellerController_ReadEndpoints() throws Exception {
+
+        String start = LocalDateTime.now().minusDays(1).toString();
+        String end = LocalDateTime.now().plusDays(1).toString();
+
+        assertStatements("SellerController.getAllSellers", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/sellers")).andExpect(status().isOk()));
+        assertStatements("SellerController.getSellerById", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/sellers/{id}", sellerWithSales.getId())).andExpect(status().isOk()));
+        // Суммы продавца с продажами берутся из памяти.
+        assertStatements("SellerController.getSellerTotals", 0, () ->
+                mockMvc.perform(get("/api/springboot_crm/sellers/{id}/totals", sellerWithSales.getId())).andExpect(status().isOk()));
+        assertStatements("SellerController.getMostProductiveSeller", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/sellers/mostProductive")
+                        .param("start", start)
+                        .param("end", end)).andExpect(status().isOk()));
+        assertStatements("SellerController.getSellersWithTotalAmountLessThan", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/sellers/withTotalAmountLessThan")
+                        .param("amount", "5000")
+                        .param("start", start)
+                        .param("end", end)).andExpect(status().isOk()));
+        // Одна группирующая выборка по transaction для любого интервала.
+        assertStatements("SellerController.getSellerSalesHistogram", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/sellers/{id}/sales/histogram", sellerWithSales.getId())
+                        .param("bucket", "hour")
+                        .param("start", start)
+                        .param("end", end)).andExpect(status().isOk()));
+        assertStatements("SellerController.getSalesHistogram", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/sellers/sales/histogram")
+                        .param("bucket", "week")
+                        .param("start", start)
+                        .param("end", end)).andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test SellerController - Write endpoints")
+    public void testSellerController_WriteEndpoints() throws Exception {
+
+        SellerDTO newSeller = new SellerDTO(null, "Seller 3", "seller3@example.com", null);
+        assertStatementsWithIdAllocation("SellerController.createSeller", 1, () ->
+                mockMvc.perform(post("/api/springboot_crm/sellers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newSeller))).andExpect(status().isCreated()));
+
+        SellerDTO updatedSeller = new SellerDTO(null, "Seller 1 Updated", "seller1@example.com", null);
+        // Загрузка продавца и update при фиксации.
+        assertStatements("SellerController.updateSeller", 2, () ->
+                mockMvc.perform(put("/api/springboot_crm/sellers/{id}", sellerWithSales.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedSeller))).andExpect(status().isOk()));
+
+        assertStatements("SellerController.deleteSeller", 2, () ->
+                mockMvc.perform(delete("/api/springboot_crm/sellers/{id}", sellerWithoutSales.getId())).andExpect(status().isNoContent()));
+
+        String csv = "name,contactInfo\nSeller 1 Renamed,seller1@example.com\nSeller 3,seller3@example.com\n";
+        // Одно обращение к последовательности на allocationSize строк и один пакет upsert на пачку.
+        assertStatements("SellerController.importSellers", 2, () ->
+                mockMvc.perform(post("/api/springboot_crm/sellers/import")
+                        .contentType("text/csv")
+                        .content(csv)).andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Test TransactionController - Read endpoints")
+    public void testTransactionController_ReadEndpoints() throws Exception {
+
+        assertStatements("TransactionController.getAllTransactions", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/transactions")).andExpect(status().isOk()));
+        assertStatements("TransactionController.getTransactionsPage", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/transactions/page")).andExpect(status().isOk()));
+        assertStatements("TransactionController.getTransactionById", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/transactions/{id}", transaction.getId())).andExpect(status().isOk()));
+        assertStatements("TransactionController.getTransactionsBySellerId", 1, () ->
+                mockMvc.perform(get("/api/springboot_crm/transactions/sellerId/{sellerId}", sellerWithSales.getId())).andExpect(status().isOk()));
+        // /transactions/stream пишет ответ в асинхронном потоке, поэтому его запросы не относятся к HTTP-запросу.
+    }
+
+    @Test
+    @DisplayName("Test TransactionController - Write endpoints")
+    public void testTransactionController_WriteEndpoints() throws Exception {
+
+        TransactionDTO newTransaction = new TransactionDTO(null, null, BigDecimal.valueOf(500), PaymentType.CARD, null);
+        // Проверка продавца, insert транзакции и upsert дневного агрегата.
+        assertStatementsWithIdAllocation("TransactionController.createTransaction", 3, () ->
+                mockMvc.perform(post("/api/springboot_crm/transactions")
+                        .param("sellerId", sellerWithSales.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTransaction))).andExpect(status().isCreated()));
+
+        String body = "[{\"sellerId\": %d, \"amount\": 100.00, \"paymentType\": \"CARD\"}, {\"sellerId\": %d, \"amount\": 200.00, \"paymentType\": \"CARD\"}]"
+                .formatted(sellerWithSales.getId(), sellerWithSales.getId());
+        // Проверка продавцов, один пакет insert и один upsert агрегата на пачку, независимо от числа строк.
+        assertStatementsWithIdAllocation("TransactionController.createTransactions", 3, () ->
+                mockMvc.perform(post("/api/springboot_crm/transactions/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body)).andExpect(status().isOk()));
+    }
+
+    private void assertStatements(String handler, long expected, Request request) throws Exception {
+
+        long statements = measure(handler, request);
+        assertEquals(expected, statements, handler + " JDBC statements");
+    }
+
+    // Идентификаторы выдаются блоками allocationSize: если блок закончился, добавляется запрос к последовательности.
+    private void assertStatementsWithIdAllocation(String handler, long expected, Request request) throws Exception {
+
+        long statements = measure(handler, request);
+        assertTrue(statements == expected || statements == expected + 1,
+                handler + " executed " + statements + " JDBC statements, expected " + expected);
+    }
+
+    private long measure(String handler, Request request) throws Exception {
+
+        double before = totalStatements(handler);
+        long countBefore = requestCount(handler);
+        request.perform();
+        assertEquals(countBefore + 1, requestCount(handler), handler + " was not measured");
+        return Math.round(totalStatements(handler) - before);
+    }
+
+    private double totalStatements(String handler) {
+
+        DistributionSummary summary = meterRegistry.find("crm.http.statements").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    private long requestCount(String handler) {
+
+        DistributionSummary summary = meterRegistry.find("crm.http.statements").tag("handler", handler).summary();
+        return summary == null ? 0 : summary.count();
+    }
+
+    @FunctionalInterface
+    private interface Request {
+        void perform() throws Exception;
+    }
+}
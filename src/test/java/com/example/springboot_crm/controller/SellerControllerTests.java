@@ -1,8 +1,14 @@
 package com.example.springboot_crm.controller;
 
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.SalesHistogramBucketDTO;
 import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.SellerTotalsDTO;
+import com.example.springboot_crm.entity.PaymentType;
 import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
 import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.example.springboot_crm.repository.SalesBucket;
+import com.example.springboot_crm.service.SellerImportService;
 import com.example.springboot_crm.service.SellerService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Disabled;
@@ -17,9 +23,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -33,6 +43,9 @@ public class SellerControllerTests {
     @MockBean
     private SellerService sellerService;
 
+    @MockBean
+    private SellerImportService sellerImportService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -311,5 +324,127 @@ public class SellerControllerTests {
                 .andExpect(status().isNotFound());
     }
 
-}
 
+    @Test
+    @DisplayName("Test getSellerTotals - Valid path variable returns 200")
+    public void test_whenValidPathVariable_thenGetSellerTotals_andReturns200() throws Exception {
+
+        SellerTotalsDTO totals = new SellerTotalsDTO(1L, new BigDecimal("30.50"),
+                Map.of(PaymentType.CASH, new BigDecimal("10.50"), PaymentType.CARD, new BigDecimal("20.00")));
+
+        when(sellerService.getSellerTotals(1L)).thenReturn(totals);
+
+        mockMvc.perform(get("/api/springboot_crm/sellers/1/totals"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.sellerId").value(1))
+                .andExpect(jsonPath("$.totalAmount").value(30.50))
+                .andExpect(jsonPath("$.amountByPaymentType.CARD").value(20.00));
+    }
+
+    @Test
+    @DisplayName("Test getSellerTotals - Not valid path variable returns 404")
+    public void test_whenNotValidPathVariable_thenGetSellerTotals_andReturns404() throws Exception {
+
+        when(sellerService.getSellerTotals(1L))
+                .thenThrow(new ResourceNotFoundException("Seller not found with id 1"));
+
+        mockMvc.perform(get("/api/springboot_crm/sellers/1/totals"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test createSeller - Name longer than column returns 400")
+    public void test_whenNameTooLong_thenCreateSeller_andReturns400() throws Exception {
+
+        SellerDTO sellerDTO = new SellerDTO(null, "N".repeat(31), "seller@example.com", null);
+
+        mockMvc.perform(post("/api/springboot_crm/sellers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(sellerDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(sellerService, never()).createSeller(any());
+    }
+
+    @Test
+    @DisplayName("Test importSellers - CSV rows are read by header and returns 200")
+    public void test_whenCsv_thenImportSellers_andReturns200() throws Exception {
+
+        String body = "name,contactInfo\n"
+                + "Seller One, sellerone@example.com\n"
+                + ",sellertwo@example.com\n";
+        List<SellerDTO> received = new ArrayList<>();
+
+        when(sellerImportService.importSellers(any())).thenAnswer(invocation -> {
+            Iterator<SellerDTO> sellers = invocation.getArgument(0);
+            sellers.forEachRemaining(received::add);
+            return new BulkIngestResultDTO(received.size(), received.size(), List.of());
+        });
+
+        mockMvc.perform(post("/api/springboot_crm/sellers/import")
+                        .contentType("text/csv")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.accepted").value(2));
+
+        assertEquals(2, received.size());
+        assertEquals("Seller One", received.get(0).getName());
+        assertEquals("sellerone@example.com", received.get(0).getContactInfo());
+        // Пустая ячейка становится null и не проходит проверку @NotNull в сервисе.
+        assertNull(received.get(1).getName());
+    }
+
+    @Test
+    @DisplayName("Test getSellerSalesHistogram - Lowercase bucket returns 200")
+    public void test_whenValidInput_thenGetSellerSalesHistogram_andReturns200() throws Exception {
+
+        LocalDateTime start = LocalDateTime.of(2024, 5, 13, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 5, 20, 0, 0);
+        List<SalesHistogramBucketDTO> histogram = List.of(
+                new SalesHistogramBucketDTO(LocalDateTime.of(2024, 5, 13, 9, 0), PaymentType.CARD, 2, new BigDecimal("30.00")));
+
+        when(sellerService.getSalesHistogram(1L, SalesBucket.HOUR, start, end)).thenReturn(histogram);
+
+        mockMvc.perform(get("/api/springboot_crm/sellers/1/sales/histogram")
+                        .param("bucket", "hour")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].paymentType").value("CARD"))
+                .andExpect(jsonPath("$[0].transactionCount").value(2))
+                .andExpect(jsonPath("$[0].totalAmount").value(30.00));
+    }
+
+    @Test
+    @DisplayName("Test getSalesHistogram - All sellers, default bucket is day")
+    public void test_whenNoBucket_thenGetSalesHistogram_andReturns200() throws Exception {
+
+        LocalDateTime start = LocalDateTime.of(2024, 5, 13, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 5, 20, 0, 0);
+
+        when(sellerService.getSalesHistogram(null, SalesBucket.DAY, start, end)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/springboot_crm/sellers/sales/histogram")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(0));
+
+        verify(sellerService, times(1)).getSalesHistogram(null, SalesBucket.DAY, start, end);
+    }
+
+    @Test
+    @DisplayName("Test getSalesHistogram - Unknown bucket returns 400")
+    public void test_whenUnknownBucket_thenGetSalesHistogram_andReturns400() throws Exception {
+
+        mockMvc.perform(get("/api/springboot_crm/sellers/sales/histogram")
+                        .param("bucket", "month")
+                        .param("start", "2024-05-13T00:00:00")
+                        .param("end", "2024-05-20T00:00:00"))
+                .andExpect(status().isBadRequest());
+
+        verify(sellerService, never()).getSalesHistogram(any(), any(), any(), any());
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.LeaderboardEntryDTO;
+import com.example.springboot_crm.service.LeaderboardPeriod;
+import com.example.springboot_crm.service.SellerLeaderboard;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SellerLeaderboardController.class)
+public class SellerLeaderboardControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SellerLeaderboard sellerLeaderboard;
+
+
+    @Test
+    @DisplayName("Test getLeaderboard - Defaults to today's top 10")
+    public void test_whenNoParameters_thenGetLeaderboard_andReturns200() throws Exception {
+
+        when(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10)).thenReturn(List.of(
+                new LeaderboardEntryDTO(1, 2L, new BigDecimal("300.00")),
+                new LeaderboardEntryDTO(2, 1L, new BigDecimal("100.00"))
+        ));
+
+        mockMvc.perform(get("/api/springboot_crm/sellers/leaderboard"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andExpect(jsonPath("$[0].rank").value(1))
+                .andExpect(jsonPath("$[0].sellerId").value(2))
+                .andExpect(jsonPath("$[0].totalAmount").value(300.00))
+                .andExpect(jsonPath("$[1].sellerId").value(1));
+
+        verify(sellerLeaderboard, times(1)).getTopSellers(LeaderboardPeriod.DAY, 10);
+    }
+
+    @Test
+    @DisplayName("Test getLeaderboard - Period and limit are passed through")
+    public void test_whenPeriodAndLimit_thenGetLeaderboard_andReturns200() throws Exception {
+
+        when(sellerLeaderboard.getTopSellers(LeaderboardPeriod.MONTH, 3)).thenReturn(List.of());
+
+        mockMvc.perform(get("/api/springboot_crm/sellers/leaderboard")
+                        .param("period", "MONTH")
+                        .param("limit", "3"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(0));
+
+        verify(sellerLeaderboard, times(1)).getTopSellers(LeaderboardPeriod.MONTH, 3);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.example.springboot_crm.service.SellerReactiveService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(SellerReactiveController.class)
+public class SellerReactiveControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private SellerReactiveService sellerReactiveService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Valid input returns 200")
+    public void test_whenValidInput_thenGetMostProductiveSeller_andReturns200() throws Exception {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 0, 0);
+        SellerWithTotalAmountDTO seller = new SellerWithTotalAmountDTO(1L, "John Doe", "john@example.com",
+                LocalDateTime.of(2022, 1, 1, 0, 0), BigDecimal.valueOf(5000));
+
+        when(sellerReactiveService.getMostProductiveSeller(start, end)).thenReturn(Mono.just(seller));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/springboot_crm/reactive/sellers/mostProductive")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.totalTransactionAmount").value(5000));
+    }
+
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Not found returns 404")
+    public void test_whenNoSeller_thenGetMostProductiveSeller_andReturns404() throws Exception {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        when(sellerReactiveService.getMostProductiveSeller(start, end))
+                .thenReturn(Mono.error(new ResourceNotFoundException("No most productive seller found")));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/springboot_crm/reactive/sellers/mostProductive")
+                        .param("start", start.toString())
+                        .param("end", end.toString()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Test getSellersWithTotalAmountLessThan - Streams NDJSON")
+    public void test_whenValidInput_thenGetSellersWithTotalAmountLessThan_andStreamsNdjson() throws Exception {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 0, 0);
+        BigDecimal amount = BigDecimal.valueOf(1000);
+        SellerWithTotalAmountDTO seller1 = new SellerWithTotalAmountDTO(1L, "John Doe", "john@example.com",
+                LocalDateTime.of(2022, 1, 1, 0, 0), BigDecimal.valueOf(500));
+        SellerWithTotalAmountDTO seller2 = new SellerWithTotalAmountDTO(2L, "Jane Smith", "jane@example.com",
+                LocalDateTime.of(2022, 1, 1, 0, 0), BigDecimal.ZERO);
+
+        when(sellerReactiveService.getSellersWithTotalAmountLessThan(amount, start, end)).thenReturn(Flux.just(seller1, seller2));
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/springboot_crm/reactive/sellers/withTotalAmountLessThan")
+                        .param("amount", amount.toString())
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(seller1) + "\n"
+                        + objectMapper.writeValueAsString(seller2) + "\n"));
+    }
+}
@@ -1,8 +1,12 @@
 package com.example.springboot_crm.controller;
 
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
 import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.TransactionPageDTO;
 import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.exception.InvalidCursorException;
 import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.example.springboot_crm.service.TransactionIngestService;
 import com.example.springboot_crm.service.TransactionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Disabled;
@@ -14,11 +18,18 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -32,6 +43,9 @@ public class TransactionControllerTests {
     @MockBean
     private TransactionService transactionService;
 
+    @MockBean
+    private TransactionIngestService transactionIngestService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -73,6 +87,134 @@ public class TransactionControllerTests {
 
 
 
+    @Test
+    @DisplayName("Test getTransactionsPage - Valid cursor returns 200")
+    public void test_whenValidCursor_thenGetTransactionsPage_andReturns200() throws Exception {
+
+        TransactionDTO transaction1 = new TransactionDTO(1L, 1L, BigDecimal.valueOf(1000), PaymentType.CARD, LocalDateTime.now());
+        TransactionDTO transaction2 = new TransactionDTO(2L, 1L, BigDecimal.valueOf(2000), PaymentType.TRANSFER, LocalDateTime.now());
+
+        when(transactionService.getTransactionsPage("cursor", 2))
+                .thenReturn(new TransactionPageDTO(List.of(transaction1, transaction2), "nextCursor"));
+
+        mockMvc.perform(get("/api/springboot_crm/transactions/page")
+                        .param("cursor", "cursor")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.transactions.size()").value(2))
+                .andExpect(jsonPath("$.transactions[0].id").value(1))
+                .andExpect(jsonPath("$.transactions[1].id").value(2))
+                .andExpect(jsonPath("$.nextCursor").value("nextCursor"));
+
+        verify(transactionService, times(1)).getTransactionsPage("cursor", 2);
+    }
+
+    @Test
+    @DisplayName("Test getTransactionsPage - Not valid cursor returns 400")
+    public void test_whenNotValidCursor_thenGetTransactionsPage_andReturns400() throws Exception {
+
+        when(transactionService.getTransactionsPage("broken", 100))
+                .thenThrow(new InvalidCursorException("Invalid cursor broken"));
+
+        mockMvc.perform(get("/api/springboot_crm/transactions/page")
+                        .param("cursor", "broken"))
+                .andExpect(status().isBadRequest());
+    }
+
+
+
+    @Test
+    @DisplayName("Test streamAllTransactions - Returns NDJSON")
+    public void test_whenStreamAllTransactions_thenReturnsNdjson() throws Exception {
+
+        TransactionDTO transaction1 = new TransactionDTO(1L, 1L, BigDecimal.valueOf(1000), PaymentType.CARD, LocalDateTime.now());
+        TransactionDTO transaction2 = new TransactionDTO(2L, 1L, BigDecimal.valueOf(2000), PaymentType.TRANSFER, LocalDateTime.now());
+
+        doAnswer(invocation -> {
+            Consumer<TransactionDTO> consumer = invocation.getArgument(0);
+            consumer.accept(transaction1);
+            consumer.accept(transaction2);
+            return null;
+        }).when(transactionService).streamAllTransactions(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/springboot_crm/transactions/stream"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(transaction1) + "\n"
+                        + objectMapper.writeValueAsString(transaction2) + "\n"));
+    }
+
+
+
+    @Test
+    @DisplayName("Test exportTransactions - Returns CSV for the period")
+    public void test_whenExportTransactions_thenReturnsCsv() throws Exception {
+
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 5, 31, 23, 59, 59);
+        TransactionDTO transaction1 = new TransactionDTO(1L, 1L, new BigDecimal("1000.50"), PaymentType.CARD, LocalDateTime.of(2024, 5, 2, 10, 15, 30));
+        TransactionDTO transaction2 = new TransactionDTO(2L, 1L, new BigDecimal("2000.00"), PaymentType.TRANSFER, LocalDateTime.of(2024, 5, 3, 11, 0, 5));
+        answerExport(start, end, 1L, transaction1, transaction2);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/springboot_crm/transactions/export")
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .param("sellerId", "1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("text/csv;charset=UTF-8"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv\""))
+                .andExpect(content().string("id,seller_id,amount,payment_type,transaction_date\n"
+                        + "1,1,1000.50,CARD,2024-05-02T10:15:30\n"
+                        + "2,1,2000.00,TRANSFER,2024-05-03T11:00:05\n"));
+    }
+
+    @Test
+    @DisplayName("Test exportTransactions - gzip=true returns compressed CSV")
+    public void test_whenExportTransactionsGzip_thenReturnsCompressedCsv() throws Exception {
+
+        LocalDateTime start = LocalDateTime.of(2024, 5, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2024, 5, 31, 23, 59, 59);
+        TransactionDTO transaction = new TransactionDTO(1L, 2L, new BigDecimal("15.00"), PaymentType.CASH, LocalDateTime.of(2024, 5, 2, 10, 15, 30));
+        answerExport(start, end, null, transaction);
+
+        MvcResult mvcResult = mockMvc.perform(get("/api/springboot_crm/transactions/export")
+                        .param("start", start.toString())
+                        .param("end", end.toString())
+                        .param("gzip", "true"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/gzip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"transactions.csv.gz\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream csv = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertEquals("id,seller_id,amount,payment_type,transaction_date\n"
+                    + "1,2,15.00,CASH,2024-05-02T10:15:30\n", new String(csv.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private void answerExport(LocalDateTime start, LocalDateTime end, Long sellerId, TransactionDTO... transactions) {
+
+        doAnswer(invocation -> {
+            Consumer<TransactionDTO> consumer = invocation.getArgument(3);
+            for (TransactionDTO transaction : transactions) {
+                consumer.accept(transaction);
+            }
+            return null;
+        }).when(transactionService).exportTransactions(eq(start), eq(end), eq(sellerId), any());
+    }
+
     @Test
     @DisplayName("Test getTransactionById - Valid path variable returns 200")
     public void test_whenValidPathVariable_thenGetTransactionById_andReturns200() throws Exception {
@@ -206,4 +348,54 @@ public class TransactionControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+
+
+    @Test
+    @DisplayName("Test createTransactions - JSON array returns 200")
+    public void test_whenJsonArray_thenCreateTransactions_andReturns200() throws Exception {
+
+        List<TransactionDTO> transactions = List.of(
+                new TransactionDTO(null, 1L, BigDecimal.valueOf(1000), PaymentType.CARD, null),
+                new TransactionDTO(null, 2L, BigDecimal.valueOf(2000), PaymentType.CASH, null));
+
+        when(transactionIngestService.ingestTransactions(any())).thenAnswer(invocation -> countingResult(invocation.getArgument(0)));
+
+        mockMvc.perform(post("/api/springboot_crm/transactions/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactions)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.accepted").value(2))
+                .andExpect(jsonPath("$.errors.size()").value(0));
+
+        verify(transactionIngestService, times(1)).ingestTransactions(any());
+    }
+
+    @Test
+    @DisplayName("Test createTransactions - NDJSON returns 200")
+    public void test_whenNdjson_thenCreateTransactions_andReturns200() throws Exception {
+
+        String body = objectMapper.writeValueAsString(new TransactionDTO(null, 1L, BigDecimal.valueOf(1000), PaymentType.CARD, null)) + "\n"
+                + objectMapper.writeValueAsString(new TransactionDTO(null, 1L, BigDecimal.valueOf(500), PaymentType.TRANSFER, null)) + "\n"
+                + objectMapper.writeValueAsString(new TransactionDTO(null, 2L, BigDecimal.valueOf(2000), PaymentType.CASH, null)) + "\n";
+
+        when(transactionIngestService.ingestTransactions(any())).thenAnswer(invocation -> countingResult(invocation.getArgument(0)));
+
+        mockMvc.perform(post("/api/springboot_crm/transactions/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(3))
+                .andExpect(jsonPath("$.accepted").value(3));
+    }
+
+    private BulkIngestResultDTO countingResult(Iterator<TransactionDTO> transactions) {
+
+        int received = 0;
+        while (transactions.hasNext()) {
+            transactions.next();
+            received++;
+        }
+        return new BulkIngestResultDTO(received, received, List.of());
+    }
 }
@@ -0,0 +1,114 @@
+package com.example.springboot_crm.controller;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.WriteBehindStatusDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.exception.QueueFullException;
+import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.example.springboot_crm.service.TransactionWriteBehindQueue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(controllers = TransactionWriteBehindController.class, properties = "crm.write-behind.enabled=true")
+public class TransactionWriteBehindControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private TransactionWriteBehindQueue transactionWriteBehindQueue;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+
+    @Test
+    @DisplayName("Test createTransactionAsync - Accepted transaction returns 202 with id")
+    public void test_whenQueueHasRoom_thenCreateTransactionAsync_andReturns202() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        TransactionDTO transactionDTO = new TransactionDTO(null, null, BigDecimal.valueOf(1000), PaymentType.CARD, null);
+        when(transactionWriteBehindQueue.enqueue(eq(1L), any(TransactionDTO.class)))
+                .thenReturn(new WriteBehindStatusDTO(id, WriteBehindStatusDTO.Status.PENDING, null));
+
+        mockMvc.perform(post("/api/springboot_crm/transactions/async")
+                        .param("sellerId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id").value(id.toString()))
+                .andExpect(jsonPath("$.status").value("PENDING"));
+
+        verify(transactionWriteBehindQueue, times(1)).enqueue(eq(1L), any(TransactionDTO.class));
+    }
+
+    @Test
+    @DisplayName("Test createTransactionAsync - Full queue returns 429 with Retry-After")
+    public void test_whenQueueFull_thenCreateTransactionAsync_andReturns429() throws Exception {
+
+        TransactionDTO transactionDTO = new TransactionDTO(null, null, BigDecimal.valueOf(1000), PaymentType.CARD, null);
+        when(transactionWriteBehindQueue.enqueue(eq(1L), any(TransactionDTO.class)))
+                .thenThrow(new QueueFullException("Write-behind queue is full, retry later"));
+
+        mockMvc.perform(post("/api/springboot_crm/transactions/async")
+                        .param("sellerId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    @DisplayName("Test createTransactionAsync - Invalid body returns 400 without enqueueing")
+    public void test_whenInvalidInput_thenCreateTransactionAsync_andReturns400() throws Exception {
+
+        TransactionDTO transactionDTO = new TransactionDTO(null, null, null, PaymentType.CARD, null);
+
+        mockMvc.perform(post("/api/springboot_crm/transactions/async")
+                        .param("sellerId", "1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transactionDTO)))
+                .andExpect(status().isBadRequest());
+
+        verify(transactionWriteBehindQueue, never()).enqueue(any(), any());
+    }
+
+    @Test
+    @DisplayName("Test getTransactionAsyncStatus - Known id returns 200")
+    public void test_whenKnownId_thenGetTransactionAsyncStatus_andReturns200() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        when(transactionWriteBehindQueue.getStatus(id))
+                .thenReturn(new WriteBehindStatusDTO(id, WriteBehindStatusDTO.Status.FAILED, "Seller not found with id 1"));
+
+        mockMvc.perform(get("/api/springboot_crm/transactions/async/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("FAILED"))
+                .andExpect(jsonPath("$.error").value("Seller not found with id 1"));
+    }
+
+    @Test
+    @DisplayName("Test getTransactionAsyncStatus - Unknown id returns 404")
+    public void test_whenUnknownId_thenGetTransactionAsyncStatus_andReturns404() throws Exception {
+
+        UUID id = UUID.randomUUID();
+        when(transactionWriteBehindQueue.getStatus(id))
+                .thenThrow(new ResourceNotFoundException("Write-behind transaction not found with id " + id));
+
+        mockMvc.perform(get("/api/springboot_crm/transactions/async/{id}", id))
+                .andExpect(status().isNotFound());
+    }
+}
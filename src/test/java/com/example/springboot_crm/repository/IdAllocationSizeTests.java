@@ -0,0 +1,43 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.entity.Transaction;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Проверка совпадения шага с последовательностью в базе отключена: id здесь не выдаются,
+// проверяется только то, что шаг берется из настройки.
+@SpringBootTest(properties = {
+        "spring.jpa.properties.crm.ids.seller.allocation-size=40",
+        "spring.jpa.properties.hibernate.id.sequence.increment_size_mismatch_strategy=none"
+})
+public class IdAllocationSizeTests {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+
+    @Test
+    @DisplayName("Test allocation size - Taken from the setting, annotation value used without it")
+    public void testAllocationSize() {
+
+        assertEquals(40, incrementSize(Seller.class));
+        assertEquals(100, incrementSize(Transaction.class));
+    }
+
+    private int incrementSize(Class<?> entityClass) {
+
+        SequenceStyleGenerator generator = (SequenceStyleGenerator) entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel()
+                .getEntityDescriptor(entityClass)
+                .getGenerator();
+        return generator.getOptimizer().getIncrementSize();
+    }
+}
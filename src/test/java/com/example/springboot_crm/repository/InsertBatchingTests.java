@@ -0,0 +1,89 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.StatementCountingConfiguration;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.entity.Transaction;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(StatementCountingConfiguration.class)
+public class InsertBatchingTests {
+
+    // Значения должны совпадать с hibernate.jdbc.batch_size и crm.ids.*.allocation-size (по умолчанию).
+    private static final int BATCH_SIZE = 100;
+    private static final int SELLER_ALLOCATION_SIZE = 20;
+    private static final int TRANSACTION_ALLOCATION_SIZE = 100;
+
+    private static final int ROW_COUNT = 250;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+
+    @AfterEach
+    public void tearDown() {
+
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test saveAll sellers - Inserts are sent in JDBC batches")
+    public void testSaveAllSellers_InsertsAreBatched() {
+
+        List<Seller> sellers = new ArrayList<>();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            sellers.add(new Seller("Seller " + i, "seller" + i + "@example.com"));
+        }
+
+        QueryCountHolder.clear();
+        iSellerRepository.saveAll(sellers);
+        QueryCount queryCount = QueryCountHolder.getGrandTotal();
+
+        assertEquals(ROW_COUNT, iSellerRepository.count());
+        assertEquals(blocks(ROW_COUNT, BATCH_SIZE), queryCount.getInsert());
+        // Одно обращение к последовательности на блок идентификаторов (плюс одно при первой инициализации).
+        assertTrue(queryCount.getSelect() <= blocks(ROW_COUNT, SELLER_ALLOCATION_SIZE) + 1);
+    }
+
+    @Test
+    @DisplayName("Test saveAll transactions - Inserts are sent in JDBC batches")
+    public void testSaveAllTransactions_InsertsAreBatched() {
+
+        Seller seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < ROW_COUNT; i++) {
+            transactions.add(new Transaction(seller, BigDecimal.valueOf(i + 1), PaymentType.CARD));
+        }
+
+        QueryCountHolder.clear();
+        iTransactionRepository.saveAll(transactions);
+        QueryCount queryCount = QueryCountHolder.getGrandTotal();
+
+        assertEquals(ROW_COUNT, iTransactionRepository.count());
+        assertEquals(blocks(ROW_COUNT, BATCH_SIZE), queryCount.getInsert());
+        assertTrue(queryCount.getSelect() <= blocks(ROW_COUNT, TRANSACTION_ALLOCATION_SIZE) + 1);
+    }
+
+    private long blocks(int rows, int blockSize) {
+        return (rows + blockSize - 1) / blockSize;
+    }
+}
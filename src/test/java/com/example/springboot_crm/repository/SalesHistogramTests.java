@@ -0,0 +1,124 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.dto.SalesHistogramBucketDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.example.springboot_crm.service.SellerService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// На H2 интервалы считаются в Java; ожидаемые значения совпадают с date_trunc в PostgreSQL.
+@SpringBootTest
+public class SalesHistogramTests {
+
+    // Понедельник 00:00 и следующий понедельник 00:00, обе границы входят в период.
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 13, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 5, 20, 0, 0);
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller seller1;
+    private Seller seller2;
+
+
+    // Даты транзакций проставляются сервером, поэтому строки с датами в прошлом вставляются напрямую.
+    @BeforeEach
+    public void setUp() {
+
+        seller1 = iSellerRepository.save(new Seller("Seller 1", "seller1@example.com"));
+        seller2 = iSellerRepository.save(new Seller("Seller 2", "seller2@example.com"));
+
+        insert(seller1, "99.00", PaymentType.CARD, START.minusSeconds(1));
+        insert(seller1, "10.00", PaymentType.CARD, LocalDateTime.of(2024, 5, 13, 9, 15));
+        insert(seller1, "20.00", PaymentType.CARD, LocalDateTime.of(2024, 5, 13, 9, 45));
+        insert(seller1, "5.00", PaymentType.CASH, LocalDateTime.of(2024, 5, 13, 10, 5));
+        insert(seller2, "30.00", PaymentType.CARD, LocalDateTime.of(2024, 5, 19, 23, 59));
+        insert(seller1, "40.00", PaymentType.CARD, END);
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test getSalesHistogram - Weeks start on Monday, buckets ordered by start and payment type")
+    public void testGetSalesHistogram_Week() {
+
+        List<SalesHistogramBucketDTO> histogram = sellerService.getSalesHistogram(null, SalesBucket.WEEK, START, END);
+
+        assertEquals(List.of(
+                "2024-05-13T00:00 CASH 1 5.00",
+                "2024-05-13T00:00 CARD 3 60.00",
+                "2024-05-20T00:00 CARD 1 40.00"), describe(histogram));
+    }
+
+    @Test
+    @DisplayName("Test getSalesHistogram - Hour buckets for one seller")
+    public void testGetSalesHistogram_HourForSeller() {
+
+        List<SalesHistogramBucketDTO> histogram = sellerService.getSalesHistogram(seller1.getId(), SalesBucket.HOUR, START, END);
+
+        assertEquals(List.of(
+                "2024-05-13T09:00 CARD 2 30.00",
+                "2024-05-13T10:00 CASH 1 5.00",
+                "2024-05-20T00:00 CARD 1 40.00"), describe(histogram));
+    }
+
+    @Test
+    @DisplayName("Test getSalesHistogram - Day buckets for one seller")
+    public void testGetSalesHistogram_DayForSeller() {
+
+        List<SalesHistogramBucketDTO> histogram = sellerService.getSalesHistogram(seller2.getId(), SalesBucket.DAY, START, END);
+
+        assertEquals(List.of("2024-05-19T00:00 CARD 1 30.00"), describe(histogram));
+    }
+
+    @Test
+    @DisplayName("Test getSalesHistogram - Seller without sales gets an empty histogram, unknown seller is not found")
+    public void testGetSalesHistogram_EmptyAndUnknownSeller() {
+
+        Seller sellerWithoutSales = iSellerRepository.save(new Seller("Seller 3", "seller3@example.com"));
+
+        assertTrue(sellerService.getSalesHistogram(sellerWithoutSales.getId(), SalesBucket.DAY, START, END).isEmpty());
+        assertThrows(ResourceNotFoundException.class,
+                () -> sellerService.getSalesHistogram(sellerWithoutSales.getId() + 1000, SalesBucket.DAY, START, END));
+    }
+
+    private static List<String> describe(List<SalesHistogramBucketDTO> histogram) {
+        return histogram.stream()
+                .map(bucket -> bucket.getBucketStart() + " " + bucket.getPaymentType() + " "
+                        + bucket.getTransactionCount() + " " + bucket.getTotalAmount().toPlainString())
+                .toList();
+    }
+
+    private void insert(Seller seller, String amount, PaymentType paymentType, LocalDateTime transactionDate) {
+        jdbcTemplate.update("insert into transaction (seller_id, amount, payment_type, transaction_date) values (?, ?, ?, ?)",
+                seller.getId(), new BigDecimal(amount), paymentType.name(), transactionDate);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.service.TransactionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class TransactionExportTests {
+
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 5, 31, 23, 59, 59);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Seller seller1;
+    private Seller seller2;
+
+
+    // Даты транзакций проставляются сервером, поэтому строки с датами вне текущего дня вставляются напрямую.
+    @BeforeEach
+    public void setUp() {
+
+        seller1 = iSellerRepository.save(new Seller("Seller 1", "seller1@example.com"));
+        seller2 = iSellerRepository.save(new Seller("Seller 2", "seller2@example.com"));
+
+        insert(seller1, "10.00", START.minusSeconds(1));
+        insert(seller1, "20.00", START);
+        insert(seller2, "30.00", LocalDateTime.of(2024, 5, 15, 12, 0));
+        insert(seller1, "40.00", LocalDateTime.of(2024, 5, 15, 12, 0));
+        insert(seller2, "50.00", END);
+        insert(seller1, "60.00", END.plusSeconds(1));
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test exportTransactions - Both bounds are included, rows ordered by date and id")
+    public void testExportTransactions_Period() {
+
+        List<TransactionDTO> exported = export(null);
+
+        assertEquals(List.of("20.00", "30.00", "40.00", "50.00"), amounts(exported));
+        assertEquals(START, exported.get(0).getTransactionDate());
+        assertEquals(END, exported.get(3).getTransactionDate());
+        // Строки с одинаковой датой упорядочены по id.
+        assertTrue(exported.get(1).getId() < exported.get(2).getId());
+    }
+
+    @Test
+    @DisplayName("Test exportTransactions - Optional seller filter")
+    public void testExportTransactions_Seller() {
+
+        List<TransactionDTO> exported = export(seller1.getId());
+
+        assertEquals(List.of("20.00", "40.00"), amounts(exported));
+        assertTrue(exported.stream().allMatch(transaction -> transaction.getSellerId().equals(seller1.getId())));
+    }
+
+    private List<TransactionDTO> export(Long sellerId) {
+
+        List<TransactionDTO> exported = new ArrayList<>();
+        transactionService.exportTransactions(START, END, sellerId, exported::add);
+        return exported;
+    }
+
+    private static List<String> amounts(List<TransactionDTO> transactions) {
+        return transactions.stream().map(transaction -> transaction.getAmount().toPlainString()).toList();
+    }
+
+    private void insert(Seller seller, String amount, LocalDateTime transactionDate) {
+        jdbcTemplate.update("insert into transaction (seller_id, amount, payment_type, transaction_date) values (?, ?, ?, ?)",
+                seller.getId(), new BigDecimal(amount), "CARD", transactionDate);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.springboot_crm.repository;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.TransactionPageDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.entity.Transaction;
+import com.example.springboot_crm.service.TransactionService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Списки транзакций строятся одним запросом без загрузки сущностей продавцов и транзакций.
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class TransactionProjectionTests {
+
+    private static final int SELLER_COUNT = 5;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private List<Seller> sellers;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        sellers = new ArrayList<>();
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < SELLER_COUNT; i++) {
+            Seller seller = iSellerRepository.save(new Seller("Seller " + i, "seller" + i + "@example.com"));
+            sellers.add(seller);
+            transactions.add(new Transaction(seller, BigDecimal.valueOf(i + 1), PaymentType.CARD));
+            transactions.add(new Transaction(seller, BigDecimal.valueOf(i + 1), PaymentType.CASH));
+        }
+        iTransactionRepository.saveAll(transactions);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test getAllTransactions - One statement, no entities loaded")
+    public void testGetAllTransactions_SingleStatement() {
+
+        List<TransactionDTO> result = transactionService.getAllTransactions();
+
+        assertEquals(SELLER_COUNT * 2, result.size());
+        assertTrue(result.stream().allMatch(transaction -> transaction.getSellerId() != null));
+        assertSingleStatementWithoutEntities();
+    }
+
+    @Test
+    @DisplayName("Test getTransactionsBySellerId - One statement, no entities loaded")
+    public void testGetTransactionsBySellerId_SingleStatement() {
+
+        Long sellerId = sellers.get(0).getId();
+        List<TransactionDTO> result = transactionService.getTransactionsBySellerId(sellerId);
+
+        assertEquals(2, result.size());
+        assertTrue(result.stream().allMatch(transaction -> transaction.getSellerId().equals(sellerId)));
+        assertSingleStatementWithoutEntities();
+    }
+
+    @Test
+    @DisplayName("Test getTransactionsPage - One statement per page, no entities loaded")
+    public void testGetTransactionsPage_SingleStatement() {
+
+        TransactionPageDTO firstPage = transactionService.getTransactionsPage(null, 4);
+        assertEquals(4, firstPage.getTransactions().size());
+        assertSingleStatementWithoutEntities();
+
+        statistics.clear();
+        TransactionPageDTO secondPage = transactionService.getTransactionsPage(firstPage.getNextCursor(), 4);
+        assertEquals(4, secondPage.getTransactions().size());
+        assertSingleStatementWithoutEntities();
+    }
+
+    private void assertSingleStatementWithoutEntities() {
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(0, statistics.getEntityFetchCount());
+    }
+}
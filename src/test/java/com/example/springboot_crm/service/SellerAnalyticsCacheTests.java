@@ -0,0 +1,96 @@
+package com.example.springboot_crm.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SellerAnalyticsCacheTests {
+
+    private final SellerAnalyticsCache sellerAnalyticsCache = new SellerAnalyticsCache(true, 100, Duration.ofMinutes(1));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+
+    @Test
+    @DisplayName("Test get - Closed window is not invalidated by new transactions")
+    public void testGet_ClosedWindow() {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 2, 1, 0, 0);
+
+        load(start, end, null);
+        sellerAnalyticsCache.onTransactionsCreated(TransactionsCreatedEvent.of(LocalDateTime.now()));
+        load(start, end, null);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test get - Window covering new transactions is recomputed")
+    public void testGet_OpenWindowInvalidated() {
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+
+        load(start, end, null);
+        load(start, end, null);
+        assertEquals(1, loads.get());
+
+        sellerAnalyticsCache.onTransactionsCreated(TransactionsCreatedEvent.of(LocalDateTime.now()));
+        load(start, end, null);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test get - Equal amounts with different scale share an entry")
+    public void testGet_NormalizedAmount() {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 2, 1, 0, 0);
+
+        load(start, end, new BigDecimal("1000"));
+        load(start, end, new BigDecimal("1000.00"));
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test invalidateAll - Every window is recomputed")
+    public void testInvalidateAll() {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 2, 1, 0, 0);
+
+        load(start, end, null);
+        sellerAnalyticsCache.invalidateAll();
+        load(start, end, null);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Test get - Disabled cache always computes")
+    public void testGet_Disabled() {
+
+        SellerAnalyticsCache disabledCache = new SellerAnalyticsCache(false, 100, Duration.ofMinutes(1));
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 2, 1, 0, 0);
+
+        disabledCache.get("query", start, end, null, loads::incrementAndGet);
+        disabledCache.get("query", start, end, null, loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, disabledCache.size());
+    }
+
+    private void load(LocalDateTime start, LocalDateTime end, BigDecimal amount) {
+        sellerAnalyticsCache.get("query", start, end, amount, loads::incrementAndGet);
+    }
+}
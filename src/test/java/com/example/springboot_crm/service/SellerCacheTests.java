@@ -0,0 +1,148 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.CacheStatsDTO;
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=sellers",
+        "spring.cache.caffeine.spec=maximumSize=100,expireAfterWrite=10m,recordStats"
+})
+public class SellerCacheTests {
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private CacheStatsService cacheStatsService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private ISellerRepository iSellerRepository;
+
+    private Seller seller;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        Objects.requireNonNull(cacheManager.getCache("sellers")).clear();
+
+        seller = new Seller();
+        seller.setId(1L);
+        seller.setName("John Doe");
+        seller.setContactInfo("john@example.com");
+        seller.setRegistrationDate(LocalDateTime.now());
+
+        when(iSellerRepository.findById(seller.getId())).thenReturn(Optional.of(seller));
+        when(iSellerRepository.save(any(Seller.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+
+    @Test
+    @DisplayName("Test getSellerById - Repeated lookups are served from cache")
+    public void testGetSellerById_Cached() {
+
+        CacheStatsDTO statsBefore = getSellersCacheStats();
+
+        SellerDTO first = sellerService.getSellerById(seller.getId());
+        SellerDTO second = sellerService.getSellerById(seller.getId());
+
+        assertEquals(first.getName(), second.getName());
+        verify(iSellerRepository, times(1)).findById(seller.getId());
+
+        CacheStatsDTO statsAfter = getSellersCacheStats();
+        assertEquals(1, statsAfter.getHitCount() - statsBefore.getHitCount());
+        assertEquals(1, statsAfter.getMissCount() - statsBefore.getMissCount());
+    }
+
+    @Test
+    @DisplayName("Test updateSeller - Evicts cached seller")
+    public void testUpdateSeller_EvictsCache() {
+
+        sellerService.getSellerById(seller.getId());
+
+        SellerDTO update = new SellerDTO();
+        update.setName("John Smith");
+        update.setContactInfo("john@example.com");
+        sellerService.updateSeller(seller.getId(), update);
+
+        SellerDTO result = sellerService.getSellerById(seller.getId());
+
+        assertEquals("John Smith", result.getName());
+        // Загрузка до изменения, в updateSeller и повторная загрузка после сброса кэша.
+        verify(iSellerRepository, times(3)).findById(seller.getId());
+    }
+
+    @Test
+    @DisplayName("Test deleteSeller - Evicts cached seller")
+    public void testDeleteSeller_EvictsCache() {
+
+        sellerService.getSellerById(seller.getId());
+        sellerService.deleteSeller(seller.getId());
+
+        assertNull(Objects.requireNonNull(cacheManager.getCache("sellers")).get(seller.getId()));
+    }
+
+    @Test
+    @DisplayName("Test updateSeller - Evicts cached seller only after commit")
+    public void testUpdateSeller_EvictsCacheAfterCommit() {
+
+        sellerService.getSellerById(seller.getId());
+        SellerDTO update = new SellerDTO(null, "John Smith", "john@example.com", null);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            sellerService.updateSeller(seller.getId(), update);
+            // До фиксации параллельный запрос снова закэшировал бы старые данные.
+            assertNotNull(Objects.requireNonNull(cacheManager.getCache("sellers")).get(seller.getId()));
+        });
+
+        assertNull(Objects.requireNonNull(cacheManager.getCache("sellers")).get(seller.getId()));
+    }
+
+    @Test
+    @DisplayName("Test updateSeller - Rolled back update keeps cached seller")
+    public void testUpdateSeller_RollbackKeepsCache() {
+
+        sellerService.getSellerById(seller.getId());
+        SellerDTO update = new SellerDTO(null, "John Smith", "john@example.com", null);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            sellerService.updateSeller(seller.getId(), update);
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(Objects.requireNonNull(cacheManager.getCache("sellers")).get(seller.getId()));
+    }
+
+    private CacheStatsDTO getSellersCacheStats() {
+
+        return cacheStatsService.getCacheStats().stream()
+                .filter(stats -> stats.getName().equals("sellers"))
+                .findFirst()
+                .orElseThrow();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SellerDailySalesServiceTests {
+
+    private static final int THREADS = 8;
+    private static final int DAYS = 20;
+
+    @Autowired
+    private SellerDailySalesService sellerDailySalesService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from seller_daily_sales");
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test recordSales - Concurrent first sales of a day are all counted")
+    public void testRecordSales_ConcurrentFirstSales() throws Exception {
+
+        Seller seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        LocalDate firstDay = LocalDate.of(2024, 5, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                futures.add(executor.submit(() -> {
+                    // Для каждого дня все потоки одновременно записывают первую продажу.
+                    for (int day = 0; day < DAYS; day++) {
+                        LocalDate salesDate = firstDay.plusDays(day);
+                        barrier.await(10, TimeUnit.SECONDS);
+                        transactionTemplate.executeWithoutResult(status -> sellerDailySalesService.recordSales(
+                                seller.getId(), salesDate, PaymentType.CARD, 1, BigDecimal.TEN));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Map<String, Object>> dailySales = jdbcTemplate.queryForList("select transaction_count, total_amount from seller_daily_sales");
+        assertEquals(DAYS, dailySales.size());
+        for (Map<String, Object> sales : dailySales) {
+            assertEquals(THREADS, ((Number) sales.get("transaction_count")).longValue());
+            assertEquals(0, BigDecimal.TEN.multiply(BigDecimal.valueOf(THREADS)).compareTo((BigDecimal) sales.get("total_amount")));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.repository.ISellerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Запускается отдельно: ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest
+public class SellerImportBenchmarkTests {
+
+    private static final int SELLER_COUNT = Integer.getInteger("crm.benchmark.seller-import", 1_000_000);
+
+    @Autowired
+    private SellerImportService sellerImportService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+
+    @AfterEach
+    public void tearDown() {
+
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Benchmark - Import of new sellers, then the same contact info with new names")
+    public void benchmarkImportThroughput() {
+
+        long insertStart = System.nanoTime();
+        BulkIngestResultDTO inserted = sellerImportService.importSellers(generateSellers("Seller "));
+        long insertNanos = System.nanoTime() - insertStart;
+
+        long updateStart = System.nanoTime();
+        BulkIngestResultDTO updated = sellerImportService.importSellers(generateSellers("Renamed "));
+        long updateNanos = System.nanoTime() - updateStart;
+
+        System.out.printf("Import of %d sellers: insert %.0f rows/s, update %.0f rows/s%n",
+                SELLER_COUNT, rowsPerSecond(insertNanos), rowsPerSecond(updateNanos));
+
+        assertEquals(SELLER_COUNT, inserted.getAccepted());
+        assertEquals(SELLER_COUNT, updated.getAccepted());
+        assertEquals(SELLER_COUNT, iSellerRepository.count());
+    }
+
+    // Строки создаются по мере чтения, как при разборе CSV, а не хранятся списком.
+    private Iterator<SellerDTO> generateSellers(String namePrefix) {
+
+        return new Iterator<>() {
+
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < SELLER_COUNT;
+            }
+
+            @Override
+            public SellerDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int i = next++;
+                return new SellerDTO(null, namePrefix + i, "seller" + i + "@example.com", null);
+            }
+        };
+    }
+
+    private double rowsPerSecond(long nanos) {
+        return SELLER_COUNT / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestErrorDTO;
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "crm.seller-import.batch-size=2")
+public class SellerImportServiceTests {
+
+    @Autowired
+    private SellerImportService sellerImportService;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+
+    @AfterEach
+    public void tearDown() {
+
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test importSellers - New rows are inserted, existing contact info is updated, invalid rows are reported")
+    public void testImportSellers_MixedRows() {
+
+        Seller existing = iSellerRepository.save(new Seller("Old Name", "john@example.com"));
+        sellerService.getSellerById(existing.getId());
+
+        List<SellerDTO> sellers = List.of(
+                new SellerDTO(null, "Alice", "alice@example.com", null),
+                new SellerDTO(null, null, "nobody@example.com", null),
+                new SellerDTO(null, "New Name", "john@example.com", null),
+                new SellerDTO(null, "Too Long", "c".repeat(31), null),
+                new SellerDTO(null, "Bob", "bob@example.com", null),
+                new SellerDTO(null, "Bob Again", "bob@example.com", null));
+
+        BulkIngestResultDTO result = sellerImportService.importSellers(sellers.iterator());
+
+        assertEquals(6, result.getReceived());
+        assertEquals(4, result.getAccepted());
+        assertEquals(List.of(1, 3), result.getErrors().stream().map(BulkIngestErrorDTO::getIndex).toList());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("name:"));
+        assertTrue(result.getErrors().get(1).getMessage().startsWith("contactInfo:"));
+
+        Map<String, String> namesByContactInfo = iSellerRepository.findAll().stream()
+                .collect(Collectors.toMap(Seller::getContactInfo, Seller::getName));
+        assertEquals(Map.of(
+                "alice@example.com", "Alice",
+                "john@example.com", "New Name",
+                "bob@example.com", "Bob Again"), namesByContactInfo);
+
+        // Кэш продавцов сброшен, идентификатор обновленного продавца не изменился.
+        assertEquals("New Name", sellerService.getSellerById(existing.getId()).getName());
+    }
+
+    @Test
+    @DisplayName("Test importSellers - Ids taken by import do not collide with ids allocated by Hibernate")
+    public void testImportSellers_ThenSaveEntity() {
+
+        iSellerRepository.save(new Seller("Before Import", "before@example.com"));
+
+        sellerImportService.importSellers(List.of(
+                new SellerDTO(null, "Imported One", "one@example.com", null),
+                new SellerDTO(null, "Imported Two", "two@example.com", null)).iterator());
+
+        iSellerRepository.save(new Seller("After Import", "after@example.com"));
+
+        assertEquals(4, iSellerRepository.count());
+    }
+
+    @Test
+    @DisplayName("Test importSellers - Rows of one batch take consecutive ids from one sequence block")
+    public void testImportSellers_IdsFromOneBlock() {
+
+        sellerImportService.importSellers(List.of(
+                new SellerDTO(null, "Imported One", "one@example.com", null),
+                new SellerDTO(null, "Imported Two", "two@example.com", null),
+                new SellerDTO(null, "Imported Three", "three@example.com", null)).iterator());
+        // Повтор тех же contact_info только обновляет имена.
+        sellerImportService.importSellers(List.of(
+                new SellerDTO(null, "Renamed One", "one@example.com", null)).iterator());
+
+        List<Long> ids = iSellerRepository.findAll().stream().map(Seller::getId).sorted().toList();
+        assertEquals(3, ids.size());
+        assertEquals(2, ids.get(2) - ids.get(0));
+    }
+
+    @Test
+    @DisplayName("Test importSellers - Empty input")
+    public void testImportSellers_Empty() {
+
+        BulkIngestResultDTO result = sellerImportService.importSellers(List.<SellerDTO>of().iterator());
+
+        assertEquals(0, result.getReceived());
+        assertEquals(0, result.getAccepted());
+        assertTrue(result.getErrors().isEmpty());
+    }
+}
@@ -0,0 +1,215 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.LeaderboardEntryDTO;
+import com.example.springboot_crm.repository.SellerDailyTotal;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SellerLeaderboardTests {
+
+    // Среда; неделя начинается 2024-05-13, месяц - 2024-05-01.
+    private static final LocalDate TODAY = LocalDate.of(2024, 5, 15);
+
+    private final SellerSalesJdbcRepository sellerSalesJdbcRepository = mock(SellerSalesJdbcRepository.class);
+    private final SellerLeaderboard sellerLeaderboard = new SellerLeaderboard(sellerSalesJdbcRepository);
+
+
+    // Пустой рейтинг с периодами, отсчитанными от TODAY.
+    @BeforeEach
+    public void setUp() {
+        sellerLeaderboard.rebuild(TODAY);
+    }
+
+    @Test
+    @DisplayName("Test rebuild - Daily totals are assigned to day, week and month")
+    public void testRebuild() {
+
+        when(sellerSalesJdbcRepository.findDailyTotalsSince(LocalDate.of(2024, 5, 1))).thenReturn(List.of(
+                new SellerDailyTotal(1L, LocalDate.of(2024, 5, 2), new BigDecimal("500.00")),
+                new SellerDailyTotal(2L, LocalDate.of(2024, 5, 14), new BigDecimal("300.00")),
+                new SellerDailyTotal(3L, TODAY, new BigDecimal("100.50")),
+                new SellerDailyTotal(2L, TODAY, new BigDecimal("50.00"))
+        ));
+
+        sellerLeaderboard.rebuild(TODAY);
+
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, TODAY),
+                3L, "100.50", 2L, "50.00");
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.WEEK, 10, TODAY),
+                2L, "350.00", 3L, "100.50");
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.MONTH, 10, TODAY),
+                1L, "500.00", 2L, "350.00", 3L, "100.50");
+    }
+
+    @Test
+    @DisplayName("Test recordSale - Ranking follows running totals, ties ordered by seller id")
+    public void testRecordSale_Ranking() {
+
+        sellerLeaderboard.recordSale(1L, TODAY, new BigDecimal("10.00"));
+        sellerLeaderboard.recordSale(2L, TODAY, new BigDecimal("15.00"));
+        sellerLeaderboard.recordSale(3L, TODAY, new BigDecimal("15.00"));
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, TODAY),
+                2L, "15.00", 3L, "15.00", 1L, "10.00");
+
+        sellerLeaderboard.recordSale(1L, TODAY, new BigDecimal("10.00"));
+        List<LeaderboardEntryDTO> top = sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 2, TODAY);
+        assertEntries(top, 1L, "20.00", 2L, "15.00");
+        assertEquals(1, top.get(0).getRank());
+        assertEquals(2, top.get(1).getRank());
+    }
+
+    @Test
+    @DisplayName("Test recordSale - New day starts an empty daily ranking, week keeps accumulating")
+    public void testRecordSale_Rollover() {
+
+        sellerLeaderboard.recordSale(1L, TODAY, new BigDecimal("10.00"));
+        LocalDate tomorrow = TODAY.plusDays(1);
+
+        assertTrue(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, tomorrow).isEmpty());
+
+        sellerLeaderboard.recordSale(2L, tomorrow, new BigDecimal("5.00"));
+        // Запоздавшая продажа за вчера не попадает в дневной рейтинг, но учитывается в недельном.
+        sellerLeaderboard.recordSale(1L, TODAY, new BigDecimal("1.00"));
+
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, tomorrow), 2L, "5.00");
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.WEEK, 10, tomorrow),
+                1L, "11.00", 2L, "5.00");
+    }
+
+    @Test
+    @DisplayName("Test recordSale - Concurrent sales are all counted")
+    public void testRecordSale_Concurrent() throws Exception {
+
+        int threads = 8;
+        int salesPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < salesPerThread; i++) {
+                        sellerLeaderboard.recordSale((long) (i % 4), TODAY, new BigDecimal("0.01"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<LeaderboardEntryDTO> top = sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, TODAY);
+        assertEquals(4, top.size());
+        top.forEach(entry -> assertEquals(0, new BigDecimal("20.00").compareTo(entry.getTotalAmount())));
+    }
+
+    @Test
+    @DisplayName("Test rebuild - Sale committed before the rebuild query is counted once")
+    public void testRebuild_SaleCommittedBeforeQuery() throws Exception {
+
+        // Продажа уже в базе: запрос перестроения ее видит.
+        when(sellerSalesJdbcRepository.findDailyTotalsSince(any())).thenReturn(List.of(
+                new SellerDailyTotal(1L, TODAY, new BigDecimal("10.00"))));
+
+        clearInvocations(sellerSalesJdbcRepository);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sellerLeaderboard.recordSale(1L, TODAY, new BigDecimal("10.00"));
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+            // Перестроение ждет, пока зафиксированная продажа не будет применена.
+            Thread rebuild = new Thread(() -> sellerLeaderboard.rebuild(TODAY));
+            rebuild.start();
+            verify(sellerSalesJdbcRepository, after(200).never()).findDailyTotalsSince(any());
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            rebuild.join(5000);
+            assertFalse(rebuild.isAlive());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, TODAY), 1L, "10.00");
+    }
+
+    @Test
+    @DisplayName("Test rebuild - Sale committed during the rebuild query is applied to the new ranking")
+    public void testRebuild_SaleCommittedDuringQuery() throws Exception {
+
+        AtomicReference<Thread> sale = new AtomicReference<>();
+        when(sellerSalesJdbcRepository.findDailyTotalsSince(any())).thenAnswer(invocation -> {
+            // Продажа фиксируется после снимка, который видит запрос, и ждет окончания перестроения.
+            Thread thread = new Thread(() -> recordSaleInTransaction(2L, new BigDecimal("5.00")));
+            thread.start();
+            sale.set(thread);
+            return List.of(new SellerDailyTotal(1L, TODAY, new BigDecimal("10.00")));
+        });
+
+        sellerLeaderboard.rebuild(TODAY);
+        sale.get().join(5000);
+        assertFalse(sale.get().isAlive());
+
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, TODAY),
+                1L, "10.00", 2L, "5.00");
+    }
+
+    @Test
+    @DisplayName("Test onSellersChanged - Deleted seller is removed from every ranking")
+    public void testOnSellersChanged_DeletedSellerRemoved() {
+
+        sellerLeaderboard.recordSale(1L, TODAY, new BigDecimal("10.00"));
+        sellerLeaderboard.recordSale(2L, TODAY, new BigDecimal("5.00"));
+
+        sellerLeaderboard.onSellersChanged(SellersChangedEvent.of(1L));
+        assertEntries(sellerLeaderboard.getTopSellers(LeaderboardPeriod.DAY, 10, TODAY),
+                1L, "10.00", 2L, "5.00");
+
+        sellerLeaderboard.onSellersChanged(SellersChangedEvent.deleted(1L));
+        for (LeaderboardPeriod period : LeaderboardPeriod.values()) {
+            assertEntries(sellerLeaderboard.getTopSellers(period, 10, TODAY), 2L, "5.00");
+        }
+    }
+
+    // Повторяет порядок вызовов менеджера транзакций при фиксации.
+    private void recordSaleInTransaction(long sellerId, BigDecimal amount) {
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sellerLeaderboard.recordSale(sellerId, TODAY, amount);
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private void assertEntries(List<LeaderboardEntryDTO> entries, Object... expected) {
+
+        assertEquals(expected.length / 2, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(expected[2 * i], entries.get(i).getSellerId());
+            assertEquals(new BigDecimal((String) expected[2 * i + 1]), entries.get(i).getTotalAmount());
+        }
+    }
+}
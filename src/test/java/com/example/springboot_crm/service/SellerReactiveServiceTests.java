@@ -0,0 +1,110 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+public class SellerReactiveServiceTests {
+
+    private static final int SELLER_COUNT = 20;
+
+    @Autowired
+    private SellerReactiveService sellerReactiveService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Seller> sellers;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        List<Seller> newSellers = new ArrayList<>();
+        for (int i = 0; i < SELLER_COUNT; i++) {
+            newSellers.add(new Seller("Seller " + i, "seller" + i + "@example.com"));
+        }
+        sellers = iSellerRepository.saveAll(newSellers);
+
+        for (int i = 0; i < sellers.size(); i++) {
+            TransactionDTO transactionDTO = new TransactionDTO(null, null, BigDecimal.valueOf(i + 1), PaymentType.CARD, null);
+            transactionService.createTransaction(sellers.get(i).getId(), transactionDTO);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from seller_daily_sales");
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Reads rollup and raw transactions")
+    public void testGetMostProductiveSeller() {
+
+        StepVerifier.create(sellerReactiveService.getMostProductiveSeller(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)))
+                .assertNext(seller -> {
+                    assertEquals(sellers.get(SELLER_COUNT - 1).getId(), seller.getId());
+                    assertEquals(0, BigDecimal.valueOf(SELLER_COUNT).compareTo(seller.getTotalTransactionAmount()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Empty period of an empty table signals not found")
+    public void testGetMostProductiveSeller_NotFound() {
+
+        tearDown();
+
+        StepVerifier.create(sellerReactiveService.getMostProductiveSeller(LocalDateTime.now().minusDays(1), LocalDateTime.now().plusDays(1)))
+                .expectError(ResourceNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Test getSellersWithTotalAmountLessThan - Streams sellers in id order with bounded demand")
+    public void testGetSellersWithTotalAmountLessThan() {
+
+        LocalDateTime start = LocalDateTime.now().minusMinutes(10);
+        LocalDateTime end = LocalDateTime.now().plusMinutes(10);
+
+        // Суммы 1..9 меньше 10; подписчик запрашивает строки порциями.
+        StepVerifier.create(sellerReactiveService.getSellersWithTotalAmountLessThan(BigDecimal.TEN, start, end), 3)
+                .expectNextCount(3)
+                .thenRequest(6)
+                .expectNextCount(6)
+                .thenRequest(1)
+                .verifyComplete();
+    }
+}
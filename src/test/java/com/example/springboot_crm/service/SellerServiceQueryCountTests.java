@@ -0,0 +1,138 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.StatementCountingConfiguration;
+import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.entity.Transaction;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Import(StatementCountingConfiguration.class)
+public class SellerServiceQueryCountTests {
+
+    private static final int SELLER_COUNT = 50;
+
+    @Autowired
+    private SellerService sellerService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        List<Seller> sellers = new ArrayList<>();
+        for (int i = 0; i < SELLER_COUNT; i++) {
+            sellers.add(new Seller("Seller " + i, "seller" + i + "@example.com"));
+        }
+        sellers = iSellerRepository.saveAll(sellers);
+
+        for (int i = 0; i < sellers.size(); i++) {
+            TransactionDTO transactionDTO = new TransactionDTO(null, null, BigDecimal.valueOf(i + 1), PaymentType.CARD, null);
+            transactionService.createTransaction(sellers.get(i).getId(), transactionDTO);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from seller_daily_sales");
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Query count does not depend on seller count")
+    public void testGetMostProductiveSeller_QueryCount() {
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+
+        QueryCountHolder.clear();
+        List<Seller> sellers = iSellerRepository.findAll();
+        BigDecimal perSellerMaxAmount = sellers.stream()
+                .map(seller -> iTransactionRepository.findBySellerAndTransactionDateBetween(seller, start, end)
+                        .stream()
+                        .map(Transaction::getAmount)
+                        .reduce(BigDecimal.ZERO, BigDecimal::add))
+                .max(BigDecimal::compareTo)
+                .orElseThrow();
+        long perSellerQueryCount = QueryCountHolder.getGrandTotal().getTotal();
+
+        QueryCountHolder.clear();
+        SellerWithTotalAmountDTO result = sellerService.getMostProductiveSeller(start, end);
+        long aggregatedQueryCount = QueryCountHolder.getGrandTotal().getTotal();
+
+        assertEquals(SELLER_COUNT + 1, perSellerQueryCount);
+        // Сегодняшний день целиком входит в период, поэтому данные читаются одним запросом по seller_daily_sales.
+        assertEquals(1, aggregatedQueryCount);
+        assertEquals(0, perSellerMaxAmount.compareTo(result.getTotalTransactionAmount()));
+        assertEquals("Seller " + (SELLER_COUNT - 1), result.getName());
+    }
+
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Period within one day reads raw transactions")
+    public void testGetMostProductiveSeller_WithinOneDay_QueryCount() {
+
+        LocalDateTime start = LocalDateTime.now().minusMinutes(10);
+        LocalDateTime end = LocalDateTime.now().plusMinutes(10);
+
+        QueryCountHolder.clear();
+        SellerWithTotalAmountDTO result = sellerService.getMostProductiveSeller(start, end);
+        long queryCount = QueryCountHolder.getGrandTotal().getTotal();
+
+        // Одна агрегирующая выборка, данные продавца входят в нее.
+        assertEquals(1, queryCount);
+        assertEquals(0, BigDecimal.valueOf(SELLER_COUNT).compareTo(result.getTotalTransactionAmount()));
+        assertEquals("Seller " + (SELLER_COUNT - 1), result.getName());
+    }
+
+    @Test
+    @DisplayName("Test getSellersWithTotalAmountLessThan - Single query including sellers without transactions")
+    public void testGetSellersWithTotalAmountLessThan_QueryCount() {
+
+        LocalDateTime start = LocalDateTime.now().minusDays(1);
+        LocalDateTime end = LocalDateTime.now().plusDays(1);
+        Seller sellerWithoutTransactions = iSellerRepository.save(new Seller("No Sales", "nosales@example.com"));
+
+        QueryCountHolder.clear();
+        List<SellerWithTotalAmountDTO> result = sellerService.getSellersWithTotalAmountLessThan(BigDecimal.TEN, start, end);
+        long queryCount = QueryCountHolder.getGrandTotal().getTotal();
+
+        assertEquals(1, queryCount);
+        // Суммы 1..9 меньше 10, плюс продавец без продаж с нулевой суммой.
+        assertEquals(10, result.size());
+        assertTrue(result.stream().anyMatch(seller -> seller.getId().equals(sellerWithoutTransactions.getId())
+                && seller.getTotalTransactionAmount().compareTo(BigDecimal.ZERO) == 0));
+    }
+}
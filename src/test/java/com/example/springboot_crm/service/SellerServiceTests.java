@@ -1,19 +1,24 @@
 package com.example.springboot_crm.service;
 
 import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.SellerTotalsDTO;
 import com.example.springboot_crm.dto.SellerWithTotalAmountDTO;
 import com.example.springboot_crm.entity.PaymentType;
 import com.example.springboot_crm.entity.Seller;
-import com.example.springboot_crm.entity.Transaction;
 import com.example.springboot_crm.exception.ResourceNotFoundException;
 import com.example.springboot_crm.mapper.SellerMapper;
 import com.example.springboot_crm.repository.ISellerRepository;
 import com.example.springboot_crm.repository.ITransactionRepository;
+import com.example.springboot_crm.repository.SalesWindow;
+import com.example.springboot_crm.repository.SellerPaymentTypeTotal;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -34,6 +39,12 @@ public class SellerServiceTests {
     @MockBean
     private ITransactionRepository iTransactionRepository;
 
+    @MockBean
+    private SellerSalesJdbcRepository sellerSalesJdbcRepository;
+
+    @MockBean
+    private SellerTotalsStore sellerTotalsStore;
+
     @MockBean
     private SellerMapper sellerMapper;
 
@@ -42,53 +53,28 @@ public class SellerServiceTests {
     @DisplayName("Test getAllSellers - Success")
     public void testGetAllSellers_Success() {
 
-        Seller seller1 = new Seller();
-        seller1.setId(1L);
-        seller1.setName("John Doe");
-        seller1.setContactInfo("john@example.com");
-        seller1.setRegistrationDate(LocalDateTime.now());
-
-        Seller seller2 = new Seller();
-        seller2.setId(2L);
-        seller2.setName("Jane Smith");
-        seller2.setContactInfo("jane@example.com");
-        seller2.setRegistrationDate(LocalDateTime.now());
-
-        SellerDTO sellerDTO1 = new SellerDTO();
-        sellerDTO1.setId(seller1.getId());
-        sellerDTO1.setName(seller1.getName());
-        sellerDTO1.setContactInfo(seller1.getContactInfo());
-        sellerDTO1.setRegistrationDate(seller1.getRegistrationDate());
+        SellerDTO sellerDTO1 = new SellerDTO(1L, "John Doe", "john@example.com", LocalDateTime.now());
+        SellerDTO sellerDTO2 = new SellerDTO(2L, "Jane Smith", "jane@example.com", LocalDateTime.now());
 
-        SellerDTO sellerDTO2 = new SellerDTO();
-        sellerDTO2.setId(seller2.getId());
-        sellerDTO2.setName(seller2.getName());
-        sellerDTO2.setContactInfo(seller2.getContactInfo());
-        sellerDTO2.setRegistrationDate(seller2.getRegistrationDate());
-
-        List<Seller> sellers = Arrays.asList(seller1, seller2);
-
-        when(iSellerRepository.findAll()).thenReturn(sellers);
-        when(sellerMapper.toDTO(seller1)).thenReturn(sellerDTO1);
-        when(sellerMapper.toDTO(seller2)).thenReturn(sellerDTO2);
+        when(iSellerRepository.findAllDTOs()).thenReturn(List.of(sellerDTO1, sellerDTO2));
 
         List<SellerDTO> result = sellerService.getAllSellers();
 
         assertNotNull(result);
-        assertEquals(sellers.size(), result.size());
-        assertEquals(sellers.get(0).getName(), result.get(0).getName());
-        assertEquals(sellers.get(1).getName(), result.get(1).getName());
+        assertEquals(2, result.size());
+        assertEquals("John Doe", result.get(0).getName());
+        assertEquals("Jane Smith", result.get(1).getName());
 
-        verify(iSellerRepository, times(1)).findAll();
-        verify(sellerMapper, times(1)).toDTO(seller1);
-        verify(sellerMapper, times(1)).toDTO(seller2);
+        verify(iSellerRepository, times(1)).findAllDTOs();
+        verify(iSellerRepository, never()).findAll();
+        verify(sellerMapper, never()).toDTO(any());
     }
 
     @Test
     @DisplayName("Test getAllSellers - Seller not found")
     public void testGetAllSellers_NoSellersFound() {
 
-        when(iSellerRepository.findAll()).thenReturn(Collections.emptyList());
+        when(iSellerRepository.findAllDTOs()).thenReturn(Collections.emptyList());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             sellerService.getAllSellers();
@@ -96,8 +82,7 @@ public class SellerServiceTests {
 
         assertEquals("No sellers found", exception.getMessage());
 
-        verify(iSellerRepository, times(1)).findAll();
-        verify(sellerMapper, never()).toDTO(any());
+        verify(iSellerRepository, times(1)).findAllDTOs();
     }
 
 
@@ -156,80 +141,38 @@ public class SellerServiceTests {
     @DisplayName("Test getMostProductiveSeller - Success")
     public void testGetMostProductiveSeller_Success() {
 
-        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
-        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+        LocalDateTime start = LocalDateTime.of(2023, 5, 15, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 5, 15, 20, 0);
+
+        SellerWithTotalAmountDTO sellerTotal2 = new SellerWithTotalAmountDTO(
+                2L, "Jane Smith", "jane@example.com", LocalDateTime.now(), new BigDecimal("200.00"));
 
-        Seller seller1 = new Seller();
-        seller1.setId(1L);
-        seller1.setName("John Doe");
-        seller1.setContactInfo("john@example.com");
-        seller1.setRegistrationDate(LocalDateTime.now());
-
-        Seller seller2 = new Seller();
-        seller2.setId(2L);
-        seller2.setName("Jane Smith");
-        seller2.setContactInfo("jane@example.com");
-        seller2.setRegistrationDate(LocalDateTime.now());
-
-        Transaction transaction1 = new Transaction();
-        transaction1.setId(1L);
-        transaction1.setSeller(seller1);
-        transaction1.setAmount(new BigDecimal("100.00"));
-        transaction1.setPaymentType(PaymentType.CASH);
-        transaction1.setTransactionDate(LocalDateTime.of(2023, 5, 15, 12, 0));
-
-        Transaction transaction2 = new Transaction();
-        transaction2.setId(2L);
-        transaction2.setSeller(seller2);
-        transaction2.setAmount(new BigDecimal("200.00"));
-        transaction2.setPaymentType(PaymentType.CARD);
-        transaction2.setTransactionDate(LocalDateTime.of(2023, 6, 20, 14, 0));
-
-        List<Seller> sellers = Arrays.asList(seller1, seller2);
-        List<Transaction> transactions1 = List.of(transaction1);
-        List<Transaction> transactions2 = List.of(transaction2);
-
-        when(iSellerRepository.findAll()).thenReturn(sellers);
-        when(iTransactionRepository.findBySellerAndTransactionDateBetween(seller1, start, end)).thenReturn(transactions1);
-        when(iTransactionRepository.findBySellerAndTransactionDateBetween(seller2, start, end)).thenReturn(transactions2);
-
-        SellerDTO sellerDTO1 = new SellerDTO();
-        sellerDTO1.setId(seller1.getId());
-        sellerDTO1.setName(seller1.getName());
-        sellerDTO1.setContactInfo(seller1.getContactInfo());
-        sellerDTO1.setRegistrationDate(seller1.getRegistrationDate());
-
-        SellerDTO sellerDTO2 = new SellerDTO();
-        sellerDTO2.setId(seller2.getId());
-        sellerDTO2.setName(seller2.getName());
-        sellerDTO2.setContactInfo(seller2.getContactInfo());
-        sellerDTO2.setRegistrationDate(seller2.getRegistrationDate());
-
-        when(sellerMapper.toDTO(seller1)).thenReturn(sellerDTO1);
-        when(sellerMapper.toDTO(seller2)).thenReturn(sellerDTO2);
+        when(iTransactionRepository.findSellersOrderByTotalAmountDesc(eq(start), eq(end), any(Pageable.class)))
+                .thenReturn(List.of(sellerTotal2));
 
         SellerWithTotalAmountDTO result = sellerService.getMostProductiveSeller(start, end);
 
         assertNotNull(result);
-        assertEquals(seller2.getId(), result.getId());
+        assertEquals(2L, result.getId());
         assertEquals("Jane Smith", result.getName());
         assertEquals(new BigDecimal("200.00"), result.getTotalTransactionAmount());
 
-        verify(iSellerRepository, times(1)).findAll();
-        verify(iTransactionRepository, times(1)).findBySellerAndTransactionDateBetween(seller1, start, end);
-        verify(iTransactionRepository, times(1)).findBySellerAndTransactionDateBetween(seller2, start, end);
-        verify(sellerMapper, times(1)).toDTO(any(Seller.class));
-        verify(sellerMapper, times(1)).toDTO(any(Seller.class));
+        verify(iTransactionRepository, times(1)).findSellersOrderByTotalAmountDesc(start, end, PageRequest.of(0, 1));
+        verify(iTransactionRepository, never()).findBySellerAndTransactionDateBetween(any(), any(), any());
+        verify(iSellerRepository, never()).findAll();
+        verify(iSellerRepository, never()).findById(any());
+        verify(sellerMapper, never()).toDTO(any(Seller.class));
     }
 
     @Test
     @DisplayName("Test getMostProductiveSeller - Sellers not found")
     public void testGetMostProductiveSeller_NoSellersFound() {
         // Arrange
-        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
-        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+        LocalDateTime start = LocalDateTime.of(2023, 5, 15, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 5, 15, 20, 0);
 
-        when(iSellerRepository.findAll()).thenReturn(Collections.emptyList());
+        when(iTransactionRepository.findSellersOrderByTotalAmountDesc(eq(start), eq(end), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
         // Act & Assert
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
@@ -238,100 +181,98 @@ public class SellerServiceTests {
 
         assertEquals("No most productive seller found", exception.getMessage(), "Сообщение исключения должно быть 'No most productive seller found'");
 
-        verify(iSellerRepository, times(1)).findAll();
-        verify(iTransactionRepository, never()).findBySellerAndTransactionDateBetween(any(), any(), any());
+        verify(iTransactionRepository, times(1)).findSellersOrderByTotalAmountDesc(eq(start), eq(end), any(Pageable.class));
+        verify(iSellerRepository, never()).findById(any());
         verify(sellerMapper, never()).toDTO(any());
     }
 
 
 
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Full days read from daily sales")
+    public void testGetMostProductiveSeller_FullDays() {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 12, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+
+        SellerWithTotalAmountDTO mostProductiveSeller = new SellerWithTotalAmountDTO(
+                2L, "Jane Smith", "jane@example.com", LocalDateTime.now(), new BigDecimal("200.00"));
+
+        when(sellerSalesJdbcRepository.findMostProductiveSeller(SalesWindow.of(start, end))).thenReturn(Optional.of(mostProductiveSeller));
+
+        SellerWithTotalAmountDTO result = sellerService.getMostProductiveSeller(start, end);
+
+        assertSame(mostProductiveSeller, result);
+
+        verify(sellerSalesJdbcRepository, times(1)).findMostProductiveSeller(SalesWindow.of(start, end));
+        verify(iTransactionRepository, never()).findSellersOrderByTotalAmountDesc(any(), any(), any());
+        verify(iSellerRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Test getMostProductiveSeller - Full days, sellers not found")
+    public void testGetMostProductiveSeller_FullDays_NoSellersFound() {
+
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+
+        when(sellerSalesJdbcRepository.findMostProductiveSeller(SalesWindow.of(start, end))).thenReturn(Optional.empty());
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            sellerService.getMostProductiveSeller(start, end);
+        });
+
+        assertEquals("No most productive seller found", exception.getMessage());
+    }
+
+
+
     @Test
     @DisplayName("Test getSellersWithTotalAmountLessThan - Success")
     public void testGetSellersWithTotalAmountLessThan_Success() {
 
         BigDecimal amount = new BigDecimal("300.00");
-        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
-        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+        LocalDateTime start = LocalDateTime.of(2023, 5, 15, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 5, 15, 20, 0);
+
+        SellerWithTotalAmountDTO sellerWithTotal1 = new SellerWithTotalAmountDTO(
+                1L, "John Doe", "john@example.com", LocalDateTime.now(), new BigDecimal("250.00"));
+        SellerWithTotalAmountDTO sellerWithTotal2 = new SellerWithTotalAmountDTO(
+                2L, "Jane Smith", "jane@example.com", LocalDateTime.now(), new BigDecimal("200.00"));
+        SellerWithTotalAmountDTO sellerWithoutTransactions = new SellerWithTotalAmountDTO(
+                3L, "Jack Black", "jack@example.com", LocalDateTime.now(), BigDecimal.ZERO);
 
-        Seller seller1 = new Seller();
-        seller1.setId(1L);
-        seller1.setName("John Doe");
-        seller1.setContactInfo("john@example.com");
-        seller1.setRegistrationDate(LocalDateTime.now());
-
-        Seller seller2 = new Seller();
-        seller2.setId(2L);
-        seller2.setName("Jane Smith");
-        seller2.setContactInfo("jane@example.com");
-        seller2.setRegistrationDate(LocalDateTime.now());
-
-        List<Seller> sellers = Arrays.asList(seller1, seller2);
-
-        Transaction transaction1 = new Transaction();
-        transaction1.setId(1L);
-        transaction1.setSeller(seller1);
-        transaction1.setAmount(new BigDecimal("100.00"));
-        transaction1.setPaymentType(PaymentType.CASH);
-        transaction1.setTransactionDate(LocalDateTime.of(2023, 5, 15, 12, 0));
-
-        Transaction transaction2 = new Transaction();
-        transaction2.setId(2L);
-        transaction2.setSeller(seller1);
-        transaction2.setAmount(new BigDecimal("150.00"));
-        transaction2.setPaymentType(PaymentType.CARD);
-        transaction2.setTransactionDate(LocalDateTime.of(2023, 6, 20, 14, 0));
-
-        Transaction transaction3 = new Transaction();
-        transaction3.setId(3L);
-        transaction3.setSeller(seller2);
-        transaction3.setAmount(new BigDecimal("200.00"));
-        transaction3.setPaymentType(PaymentType.TRANSFER);
-        transaction3.setTransactionDate(LocalDateTime.of(2023, 7, 25, 16, 0));
-
-        List<Transaction> transactions1 = Arrays.asList(transaction1, transaction2); // Total: 250.00
-        List<Transaction> transactions2 = Collections.singletonList(transaction3);   // Total: 200.00
-
-        SellerDTO sellerDTO1 = new SellerDTO();
-        sellerDTO1.setId(seller1.getId());
-        sellerDTO1.setName(seller1.getName());
-        sellerDTO1.setContactInfo(seller1.getContactInfo());
-        sellerDTO1.setRegistrationDate(seller1.getRegistrationDate());
-
-        SellerDTO sellerDTO2 = new SellerDTO();
-        sellerDTO2.setId(seller2.getId());
-        sellerDTO2.setName(seller2.getName());
-        sellerDTO2.setContactInfo(seller2.getContactInfo());
-        sellerDTO2.setRegistrationDate(seller2.getRegistrationDate());
-
-        when(iSellerRepository.findAll()).thenReturn(sellers);
-        when(iTransactionRepository.findBySellerAndTransactionDateBetween(seller1, start, end)).thenReturn(transactions1);
-        when(iTransactionRepository.findBySellerAndTransactionDateBetween(seller2, start, end)).thenReturn(transactions2);
-        when(sellerMapper.toDTO(seller1)).thenReturn(sellerDTO1);
-        when(sellerMapper.toDTO(seller2)).thenReturn(sellerDTO2);
+        when(iTransactionRepository.findSellersWithTotalAmountLessThan(eq(amount), eq(start), eq(end), eq(0L), any(Pageable.class)))
+                .thenReturn(List.of(sellerWithTotal1, sellerWithTotal2, sellerWithoutTransactions));
 
         List<SellerWithTotalAmountDTO> result = sellerService.getSellersWithTotalAmountLessThan(amount, start, end);
 
         assertNotNull(result);
-        assertEquals(2, result.size());
+        assertEquals(3, result.size());
 
         SellerWithTotalAmountDTO resultSeller1 = result.stream()
-                .filter(s -> s.getId().equals(seller1.getId()))
+                .filter(s -> s.getId().equals(1L))
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Seller 1 not found"));
 
         SellerWithTotalAmountDTO resultSeller2 = result.stream()
-                .filter(s -> s.getId().equals(seller2.getId()))
+                .filter(s -> s.getId().equals(2L))
                 .findFirst()
                 .orElseThrow(() -> new RuntimeException("Seller 2 not found"));
 
+        SellerWithTotalAmountDTO resultSeller3 = result.stream()
+                .filter(s -> s.getId().equals(3L))
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Seller 3 not found"));
+
         assertEquals(new BigDecimal("250.00"), resultSeller1.getTotalTransactionAmount());
         assertEquals(new BigDecimal("200.00"), resultSeller2.getTotalTransactionAmount());
+        assertEquals(BigDecimal.ZERO, resultSeller3.getTotalTransactionAmount());
 
-        verify(iSellerRepository, times(1)).findAll();
-        verify(iTransactionRepository, times(1)).findBySellerAndTransactionDateBetween(seller1, start, end);
-        verify(iTransactionRepository, times(1)).findBySellerAndTransactionDateBetween(seller2, start, end);
-        verify(sellerMapper, times(1)).toDTO(seller1);
-        verify(sellerMapper, times(1)).toDTO(seller2);
+        verify(iTransactionRepository, times(1)).findSellersWithTotalAmountLessThan(eq(amount), eq(start), eq(end), eq(0L), any(Pageable.class));
+        verify(iTransactionRepository, never()).findBySellerAndTransactionDateBetween(any(), any(), any());
+        verify(iSellerRepository, never()).findAll();
+        verify(sellerMapper, never()).toDTO(any());
     }
 
     @Test
@@ -339,46 +280,50 @@ public class SellerServiceTests {
     public void testGetSellersWithTotalAmountLessThan_NoSellersFound() {
 
         BigDecimal amount = new BigDecimal("100.00");
-        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
-        LocalDateTime end = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime start = LocalDateTime.of(2023, 5, 15, 8, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 5, 15, 20, 0);
 
-        Seller seller1 = new Seller();
-        seller1.setId(1L);
-        seller1.setName("John Doe");
-        seller1.setContactInfo("john.doe@example.com");
-        seller1.setRegistrationDate(LocalDateTime.now());
+        when(iTransactionRepository.findSellersWithTotalAmountLessThan(eq(amount), eq(start), eq(end), eq(0L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
-        List<Seller> sellers = Collections.singletonList(seller1);
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
+            sellerService.getSellersWithTotalAmountLessThan(amount, start, end);
+        });
 
-        Transaction transaction1 = new Transaction();
-        transaction1.setId(1L);
-        transaction1.setSeller(seller1);
-        transaction1.setAmount(new BigDecimal("150.00"));
-        transaction1.setPaymentType(PaymentType.CASH);
-        transaction1.setTransactionDate(LocalDateTime.of(2023, 6, 15, 0, 0));
+        assertEquals("No sellers found with total transaction amount less than 100.00", exception.getMessage());
 
-        List<Transaction> transactions1 = Collections.singletonList(transaction1); // Total: 150.00
+        verify(iTransactionRepository, times(1)).findSellersWithTotalAmountLessThan(eq(amount), eq(start), eq(end), eq(0L), any(Pageable.class));
+        verify(sellerMapper, never()).toDTO(any());
+    }
 
-        SellerDTO sellerDTO1 = new SellerDTO();
-        sellerDTO1.setId(seller1.getId());
-        sellerDTO1.setName(seller1.getName());
-        sellerDTO1.setContactInfo(seller1.getContactInfo());
-        sellerDTO1.setRegistrationDate(seller1.getRegistrationDate());
 
-        when(iSellerRepository.findAll()).thenReturn(sellers);
-        when(iTransactionRepository.findBySellerAndTransactionDateBetween(seller1, start, end)).thenReturn(transactions1);
-        when(sellerMapper.toDTO(seller1)).thenReturn(sellerDTO1);
 
+    @Test
+    @DisplayName("Test getSellersWithTotalAmountLessThan - Full days read from daily sales page by page")
+    public void testGetSellersWithTotalAmountLessThan_FullDays() {
 
-        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
-            sellerService.getSellersWithTotalAmountLessThan(amount, start, end);
-        });
+        BigDecimal amount = new BigDecimal("300.00");
+        LocalDateTime start = LocalDateTime.of(2023, 1, 1, 0, 0);
+        LocalDateTime end = LocalDateTime.of(2023, 12, 31, 23, 59);
+        SalesWindow window = SalesWindow.of(start, end);
 
-        assertEquals("No sellers found with total transaction amount less than 100.00", exception.getMessage());
+        List<SellerWithTotalAmountDTO> firstPage = new ArrayList<>();
+        for (long id = 1; id <= 1000; id++) {
+            firstPage.add(new SellerWithTotalAmountDTO(id, "Seller " + id, "seller" + id + "@example.com", LocalDateTime.now(), BigDecimal.ZERO));
+        }
+        SellerWithTotalAmountDTO lastSeller = new SellerWithTotalAmountDTO(
+                1001L, "Seller 1001", "seller1001@example.com", LocalDateTime.now(), new BigDecimal("10.00"));
+
+        when(sellerSalesJdbcRepository.findSellersWithTotalAmountLessThan(amount, window, 0L, 1000)).thenReturn(firstPage);
+        when(sellerSalesJdbcRepository.findSellersWithTotalAmountLessThan(amount, window, 1000L, 1000)).thenReturn(List.of(lastSeller));
+
+        List<SellerWithTotalAmountDTO> result = sellerService.getSellersWithTotalAmountLessThan(amount, start, end);
 
-        verify(iSellerRepository, times(1)).findAll();
-        verify(iTransactionRepository, times(1)).findBySellerAndTransactionDateBetween(seller1, start, end);
-        verify(sellerMapper, never()).toDTO(seller1);
+        assertEquals(1001, result.size());
+        assertSame(lastSeller, result.get(1000));
+
+        verify(sellerSalesJdbcRepository, times(2)).findSellersWithTotalAmountLessThan(eq(amount), eq(window), any(), eq(1000));
+        verify(iTransactionRepository, never()).findSellersWithTotalAmountLessThan(any(), any(), any(), any(), any());
     }
 
 
@@ -527,4 +472,53 @@ public class SellerServiceTests {
         verify(iSellerRepository, times(1)).findById(sellerId);
         verify(iSellerRepository, never()).delete(any());
     }
+
+
+    @Test
+    @DisplayName("Test getSellerTotals - Totals are read from memory")
+    public void testGetSellerTotals_FromMemory() {
+
+        when(sellerTotalsStore.isAvailable(1L)).thenReturn(true);
+        when(sellerTotalsStore.getCents(1L, PaymentType.CASH)).thenReturn(1050L);
+        when(sellerTotalsStore.getCents(1L, PaymentType.CARD)).thenReturn(2000L);
+
+        SellerTotalsDTO result = sellerService.getSellerTotals(1L);
+
+        assertEquals(1L, result.getSellerId());
+        assertEquals(new BigDecimal("30.50"), result.getTotalAmount());
+        assertEquals(new BigDecimal("10.50"), result.getAmountByPaymentType().get(PaymentType.CASH));
+        assertEquals(new BigDecimal("20.00"), result.getAmountByPaymentType().get(PaymentType.CARD));
+        assertEquals(new BigDecimal("0.00"), result.getAmountByPaymentType().get(PaymentType.TRANSFER));
+
+        verify(sellerSalesJdbcRepository, never()).findPaymentTypeTotals(any(Long.class));
+        verify(iSellerRepository, never()).existsById(any());
+    }
+
+    @Test
+    @DisplayName("Test getSellerTotals - Database is used until totals are reconciled")
+    public void testGetSellerTotals_FromDatabase() {
+
+        when(sellerTotalsStore.isAvailable(1L)).thenReturn(false);
+        when(sellerSalesJdbcRepository.findPaymentTypeTotals(1L)).thenReturn(List.of(
+                new SellerPaymentTypeTotal(1L, PaymentType.TRANSFER, new BigDecimal("7.00"))));
+
+        SellerTotalsDTO result = sellerService.getSellerTotals(1L);
+
+        assertEquals(new BigDecimal("7.00"), result.getTotalAmount());
+        assertEquals(new BigDecimal("7.00"), result.getAmountByPaymentType().get(PaymentType.TRANSFER));
+        verify(sellerTotalsStore, never()).getCents(anyLong(), any());
+    }
+
+    @Test
+    @DisplayName("Test getSellerTotals - Seller not found")
+    public void testGetSellerTotals_NotFound() {
+
+        when(sellerTotalsStore.isAvailable(1L)).thenReturn(true);
+        when(iSellerRepository.existsById(1L)).thenReturn(false);
+
+        ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class,
+                () -> sellerService.getSellerTotals(1L));
+
+        assertEquals("Seller not found with id 1", exception.getMessage());
+    }
 }
@@ -0,0 +1,193 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.repository.SellerPaymentTypeTotal;
+import com.example.springboot_crm.repository.SellerSalesJdbcRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class SellerTotalsStoreTests {
+
+    private final SellerSalesJdbcRepository sellerSalesJdbcRepository = mock(SellerSalesJdbcRepository.class);
+    private final SellerTotalsStore sellerTotalsStore = new SellerTotalsStore(sellerSalesJdbcRepository);
+
+
+    @Test
+    @DisplayName("Test recordSale - Totals are kept per seller and payment type in cents")
+    public void testRecordSale() {
+
+        sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("10.25"));
+        sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("0.75"));
+        sellerTotalsStore.recordSale(1L, PaymentType.CASH, new BigDecimal("3"));
+        // Продавец на далекой странице расширяет массив страниц.
+        sellerTotalsStore.recordSale(5_000_000L, PaymentType.TRANSFER, new BigDecimal("99.99"));
+
+        assertEquals(1100, sellerTotalsStore.getCents(1L, PaymentType.CARD));
+        assertEquals(300, sellerTotalsStore.getCents(1L, PaymentType.CASH));
+        assertEquals(0, sellerTotalsStore.getCents(1L, PaymentType.TRANSFER));
+        assertEquals(9999, sellerTotalsStore.getCents(5_000_000L, PaymentType.TRANSFER));
+        assertEquals(0, sellerTotalsStore.getCents(2L, PaymentType.CARD));
+        assertEquals(0, sellerTotalsStore.getCents(10_000_000L, PaymentType.CARD));
+    }
+
+    @Test
+    @DisplayName("Test recordSale - Concurrent sales of one seller are all counted")
+    public void testRecordSale_Concurrent() throws Exception {
+
+        int threads = 8;
+        int salesPerThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < salesPerThread; i++) {
+                        sellerTotalsStore.recordSale(7L, PaymentType.CARD, new BigDecimal("0.01"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals((long) threads * salesPerThread, sellerTotalsStore.getCents(7L, PaymentType.CARD));
+    }
+
+    @Test
+    @DisplayName("Test reconcile - Drifted and missing totals are corrected to database values")
+    public void testReconcile() {
+
+        sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("10.00"));
+        sellerTotalsStore.recordSale(2L, PaymentType.CASH, new BigDecimal("5.00"));
+        assertFalse(sellerTotalsStore.isAvailable(1L));
+
+        when(sellerSalesJdbcRepository.findPaymentTypeTotals()).thenReturn(List.of(
+                new SellerPaymentTypeTotal(1L, PaymentType.CARD, new BigDecimal("12.50")),
+                new SellerPaymentTypeTotal(3L, PaymentType.TRANSFER, new BigDecimal("7.00"))
+        ));
+        sellerTotalsStore.reconcile();
+
+        assertTrue(sellerTotalsStore.isAvailable(1L));
+        assertEquals(1250, sellerTotalsStore.getCents(1L, PaymentType.CARD));
+        assertEquals(0, sellerTotalsStore.getCents(2L, PaymentType.CASH));
+        assertEquals(700, sellerTotalsStore.getCents(3L, PaymentType.TRANSFER));
+        assertFalse(sellerTotalsStore.isAvailable(-1L));
+    }
+
+    @Test
+    @DisplayName("Test reconcile - Sale recorded between the query and the correction is kept")
+    public void testReconcile_SaleAfterQuery() {
+
+        sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("10.00"));
+        when(sellerSalesJdbcRepository.findPaymentTypeTotals()).thenAnswer(invocation -> {
+            List<SellerPaymentTypeTotal> totals = List.of(
+                    new SellerPaymentTypeTotal(1L, PaymentType.CARD, new BigDecimal("10.00")),
+                    new SellerPaymentTypeTotal(2L, PaymentType.CASH, new BigDecimal("3.00")));
+            // Продажа зафиксирована уже после того, как запрос прочитал суммы.
+            sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("5.00"));
+            return totals;
+        });
+
+        sellerTotalsStore.reconcile();
+
+        assertEquals(1500, sellerTotalsStore.getCents(1L, PaymentType.CARD));
+        // Суммы других продавцов сверяются как обычно.
+        assertEquals(300, sellerTotalsStore.getCents(2L, PaymentType.CASH));
+    }
+
+    @Test
+    @DisplayName("Test reconcile - Sale committed before the query but applied after the correction is counted once")
+    public void testReconcile_SaleAppliedAfterCorrection() {
+
+        sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("10.00"));
+        when(sellerSalesJdbcRepository.findPaymentTypeTotals()).thenReturn(List.of(
+                new SellerPaymentTypeTotal(1L, PaymentType.CARD, new BigDecimal("15.00"))));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("5.00"));
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+
+            // Транзакция зафиксирована, но продажа еще не применена к суммам.
+            sellerTotalsStore.reconcile();
+
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(1500, sellerTotalsStore.getCents(1L, PaymentType.CARD));
+        // Продавец с пропущенной суммой читается из базы; следующая сверка без продаж подтверждает его.
+        assertFalse(sellerTotalsStore.isAvailable(1L));
+        sellerTotalsStore.reconcile();
+        assertTrue(sellerTotalsStore.isAvailable(1L));
+        assertEquals(1500, sellerTotalsStore.getCents(1L, PaymentType.CARD));
+    }
+
+    @Test
+    @DisplayName("Test reconcile - Seller with sales in flight stays on the database, other sellers are served from memory")
+    public void testReconcile_SkippedSellerDoesNotBlockOthers() {
+
+        sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("10.00"));
+        sellerTotalsStore.recordSale(2L, PaymentType.CASH, new BigDecimal("3.00"));
+        when(sellerSalesJdbcRepository.findPaymentTypeTotals()).thenReturn(List.of(
+                new SellerPaymentTypeTotal(1L, PaymentType.CARD, new BigDecimal("15.00")),
+                new SellerPaymentTypeTotal(2L, PaymentType.CASH, new BigDecimal("4.00"))));
+
+        // У продавца 1 продажа идет во время каждой сверки.
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sellerTotalsStore.recordSale(1L, PaymentType.CARD, new BigDecimal("5.00"));
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            sellerTotalsStore.reconcile();
+            sellerTotalsStore.reconcile();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertFalse(sellerTotalsStore.isAvailable(1L));
+        assertTrue(sellerTotalsStore.isAvailable(2L));
+        assertEquals(400, sellerTotalsStore.getCents(2L, PaymentType.CASH));
+        // Продавец без продаж до запуска тоже сверен.
+        assertTrue(sellerTotalsStore.isAvailable(3L));
+
+        // Сверенный продавец остается доступным, даже если следующая сверка его пропустит.
+        when(sellerSalesJdbcRepository.findPaymentTypeTotals()).thenReturn(List.of(
+                new SellerPaymentTypeTotal(1L, PaymentType.CARD, new BigDecimal("15.00")),
+                new SellerPaymentTypeTotal(2L, PaymentType.CASH, new BigDecimal("4.50"))));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            sellerTotalsStore.recordSale(2L, PaymentType.CASH, new BigDecimal("1.00"));
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            sellerTotalsStore.reconcile();
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(sellerTotalsStore.isAvailable(1L));
+        assertEquals(1500, sellerTotalsStore.getCents(1L, PaymentType.CARD));
+        assertTrue(sellerTotalsStore.isAvailable(2L));
+        assertEquals(500, sellerTotalsStore.getCents(2L, PaymentType.CASH));
+    }
+}
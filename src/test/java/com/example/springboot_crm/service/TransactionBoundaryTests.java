@@ -0,0 +1,126 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.ConnectionCountingConfiguration;
+import com.example.springboot_crm.dto.SellerDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Каждый HTTP-запрос выполняется в одной транзакции и берет из пула ровно одно соединение,
+// включая обработчики событий после фиксации.
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(ConnectionCountingConfiguration.class)
+public class TransactionBoundaryTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    private Seller seller;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+        transactionService.createTransaction(seller.getId(),
+                new TransactionDTO(null, null, BigDecimal.TEN, PaymentType.CARD, null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from seller_daily_sales");
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test POST /transactions - Seller lookup and insert share one connection")
+    public void testCreateTransaction_ConnectionCount() throws Exception {
+
+        TransactionDTO newTransaction = new TransactionDTO(null, null, BigDecimal.ONE, PaymentType.CASH, null);
+
+        ConnectionCountingConfiguration.clear();
+        mockMvc.perform(post("/api/springboot_crm/transactions")
+                        .param("sellerId", seller.getId().toString())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(newTransaction)))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, ConnectionCountingConfiguration.getConnectionCount());
+    }
+
+    @Test
+    @DisplayName("Test PUT /sellers/{id} - Lookup, update and cache eviction share one connection")
+    public void testUpdateSeller_ConnectionCount() throws Exception {
+
+        SellerDTO update = new SellerDTO(null, "Jane Doe", "jane@example.com", null);
+
+        ConnectionCountingConfiguration.clear();
+        mockMvc.perform(put("/api/springboot_crm/sellers/{id}", seller.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isOk());
+
+        assertEquals(1, ConnectionCountingConfiguration.getConnectionCount());
+        assertEquals("Jane Doe", iSellerRepository.findById(seller.getId()).orElseThrow().getName());
+    }
+
+    @Test
+    @DisplayName("Test read endpoints - One connection per request")
+    public void testReadEndpoints_ConnectionCount() throws Exception {
+
+        ConnectionCountingConfiguration.clear();
+        mockMvc.perform(get("/api/springboot_crm/transactions/sellerId/{sellerId}", seller.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+        assertEquals(1, ConnectionCountingConfiguration.getConnectionCount());
+
+        // Продавец с суммой продаж выбирается одной группирующей выборкой: запрос берет одно соединение.
+        ConnectionCountingConfiguration.clear();
+        mockMvc.perform(get("/api/springboot_crm/sellers/mostProductive")
+                        .param("start", LocalDateTime.now().minusMinutes(10).toString())
+                        .param("end", LocalDateTime.now().plusMinutes(10).toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(seller.getId()));
+        assertEquals(1, ConnectionCountingConfiguration.getConnectionCount());
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Запускается отдельно: ./gradlew benchmark
+// Отдельная база H2 с LAZY_QUERY_EXECUTION: H2 отдает строки по мере чтения, как курсор PostgreSQL с fetch size,
+// иначе встроенная база сама держала бы в памяти весь результат запроса.
+@Tag("benchmark")
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export_benchmark;DB_CLOSE_DELAY=-1;LAZY_QUERY_EXECUTION=1")
+public class TransactionExportBenchmarkTests {
+
+    private static final int TRANSACTION_COUNT = Integer.getInteger("crm.benchmark.export-transactions", 500_000);
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final int HEAP_SAMPLES = 10;
+    private static final long MAX_HEAP_GROWTH_BYTES = 32L * 1024 * 1024;
+    private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 5, 31, 23, 59, 59);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        Seller seller = iSellerRepository.save(new Seller("Seller", "seller@example.com"));
+        PaymentType[] paymentTypes = PaymentType.values();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            batch.add(new Object[]{seller.getId(), BigDecimal.valueOf(i % 1000 + 1, 2),
+                    paymentTypes[i % paymentTypes.length].name(), START.plusSeconds(i % 2_600_000)});
+            if (batch.size() == INSERT_BATCH_SIZE || i == TRANSACTION_COUNT - 1) {
+                jdbcTemplate.batchUpdate("insert into transaction (seller_id, amount, payment_type, transaction_date) values (?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Benchmark - Streaming CSV export keeps heap bounded")
+    public void benchmarkExportHeap() throws IOException {
+
+        long baseline = usedHeapAfterGc();
+        long[] peak = {baseline};
+        long[] rows = {0};
+        CountingOutputStream output = new CountingOutputStream();
+
+        long exportStart = System.nanoTime();
+        try (TransactionCsvWriter writer = new TransactionCsvWriter(output, true)) {
+            transactionService.exportTransactions(START, END, null, transaction -> {
+                writer.write(transaction);
+                if (++rows[0] % (TRANSACTION_COUNT / HEAP_SAMPLES) == 0) {
+                    peak[0] = Math.max(peak[0], usedHeapAfterGc());
+                }
+            });
+        }
+        long exportNanos = System.nanoTime() - exportStart;
+
+        // Для сравнения: тот же период, собранный в список, как при GET /transactions.
+        long listBaseline = usedHeapAfterGc();
+        List<TransactionDTO> materialized = new ArrayList<>();
+        transactionService.exportTransactions(START, END, null, materialized::add);
+        long materializedBytes = usedHeapAfterGc() - listBaseline;
+
+        System.out.printf("Export of %d transactions: %.0f rows/s, %d gzip bytes, heap growth streaming %d KB, materialized %d KB%n",
+                rows[0], rows[0] / (exportNanos / 1_000_000_000.0), output.count,
+                (peak[0] - baseline) / 1024, materializedBytes / 1024);
+
+        assertEquals(TRANSACTION_COUNT, rows[0]);
+        assertEquals(TRANSACTION_COUNT, materialized.size());
+        assertTrue(peak[0] - baseline < MAX_HEAP_GROWTH_BYTES,
+                "Heap grew by " + (peak[0] - baseline) / 1024 + " KB during export");
+    }
+
+    private static long usedHeapAfterGc() {
+
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            count += length;
+        }
+    }
+}
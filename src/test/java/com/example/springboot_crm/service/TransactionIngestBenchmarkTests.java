@@ -0,0 +1,106 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Запускается отдельно: ./gradlew benchmark
+@Tag("benchmark")
+@SpringBootTest
+public class TransactionIngestBenchmarkTests {
+
+    private static final int TRANSACTION_COUNT = Integer.getInteger("crm.benchmark.transactions", 10_000);
+    private static final int SELLER_COUNT = 100;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionIngestService transactionIngestService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<Seller> sellers;
+
+
+    @BeforeEach
+    public void setUp() {
+
+        List<Seller> newSellers = new ArrayList<>();
+        for (int i = 0; i < SELLER_COUNT; i++) {
+            newSellers.add(new Seller("Seller " + i, "seller" + i + "@example.com"));
+        }
+        sellers = iSellerRepository.saveAll(newSellers);
+    }
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from seller_daily_sales");
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Benchmark - One-by-one createTransaction vs bulk ingest")
+    public void benchmarkIngestThroughput() {
+
+        List<TransactionDTO> transactions = generateTransactions();
+
+        long oneByOneStart = System.nanoTime();
+        for (TransactionDTO transactionDTO : transactions) {
+            transactionService.createTransaction(transactionDTO.getSellerId(), transactionDTO);
+        }
+        long oneByOneNanos = System.nanoTime() - oneByOneStart;
+
+        long bulkStart = System.nanoTime();
+        BulkIngestResultDTO result = transactionIngestService.ingestTransactions(generateTransactions().iterator());
+        long bulkNanos = System.nanoTime() - bulkStart;
+
+        System.out.printf("Ingest of %d transactions: one-by-one %.0f rows/s, bulk %.0f rows/s%n",
+                TRANSACTION_COUNT, rowsPerSecond(oneByOneNanos), rowsPerSecond(bulkNanos));
+
+        assertEquals(TRANSACTION_COUNT, result.getAccepted());
+        assertEquals(2L * TRANSACTION_COUNT, iTransactionRepository.count());
+    }
+
+    private List<TransactionDTO> generateTransactions() {
+
+        PaymentType[] paymentTypes = PaymentType.values();
+        List<TransactionDTO> transactions = new ArrayList<>(TRANSACTION_COUNT);
+        for (int i = 0; i < TRANSACTION_COUNT; i++) {
+            transactions.add(new TransactionDTO(null, sellers.get(i % SELLER_COUNT).getId(),
+                    BigDecimal.valueOf(i % 1000 + 1), paymentTypes[i % paymentTypes.length], null));
+        }
+        return transactions;
+    }
+
+    private double rowsPerSecond(long nanos) {
+        return TRANSACTION_COUNT / (nanos / 1_000_000_000.0);
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestErrorDTO;
+import com.example.springboot_crm.dto.BulkIngestResultDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.entity.Seller;
+import com.example.springboot_crm.repository.ISellerRepository;
+import com.example.springboot_crm.repository.ITransactionRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "crm.ingest.batch-size=2")
+public class TransactionIngestServiceTests {
+
+    @Autowired
+    private TransactionIngestService transactionIngestService;
+
+    @Autowired
+    private ISellerRepository iSellerRepository;
+
+    @Autowired
+    private ITransactionRepository iTransactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+
+    @AfterEach
+    public void tearDown() {
+
+        jdbcTemplate.update("delete from write_behind_ingest");
+        jdbcTemplate.update("delete from seller_daily_sales");
+        iTransactionRepository.deleteAllInBatch();
+        iSellerRepository.deleteAllInBatch();
+    }
+
+
+    @Test
+    @DisplayName("Test ingestTransactions - Valid rows are written, invalid rows are reported")
+    public void testIngestTransactions_MixedRows() {
+
+        Seller seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+        Long unknownSellerId = seller.getId() + 1000;
+
+        List<TransactionDTO> transactions = List.of(
+                new TransactionDTO(null, seller.getId(), BigDecimal.valueOf(100), PaymentType.CARD, null),
+                new TransactionDTO(null, seller.getId(), null, PaymentType.CARD, null),
+                new TransactionDTO(null, unknownSellerId, BigDecimal.valueOf(300), PaymentType.CARD, null),
+                new TransactionDTO(null, seller.getId(), BigDecimal.valueOf(400), PaymentType.CARD, null),
+                new TransactionDTO(null, null, BigDecimal.valueOf(500), PaymentType.CASH, null));
+
+        BulkIngestResultDTO result = transactionIngestService.ingestTransactions(transactions.iterator());
+
+        assertEquals(5, result.getReceived());
+        assertEquals(2, result.getAccepted());
+        assertEquals(List.of(1, 2, 4), result.getErrors().stream().map(BulkIngestErrorDTO::getIndex).toList());
+        assertTrue(result.getErrors().get(1).getMessage().contains(String.valueOf(unknownSellerId)));
+
+        assertEquals(2, iTransactionRepository.findBySellerId(seller.getId()).size());
+
+        List<Map<String, Object>> dailySales = jdbcTemplate.queryForList("select transaction_count, total_amount from seller_daily_sales");
+        assertEquals(1, dailySales.size());
+        assertEquals(2L, ((Number) dailySales.get(0).get("transaction_count")).longValue());
+        assertEquals(0, BigDecimal.valueOf(500).compareTo((BigDecimal) dailySales.get(0).get("total_amount")));
+    }
+
+    @Test
+    @DisplayName("Test ingestBatch - Valid rows are written, row errors are returned by index")
+    public void testIngestBatch_MixedRows() {
+
+        Seller seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+        Long unknownSellerId = seller.getId() + 1000;
+
+        List<BulkIngestErrorDTO> errors = transactionIngestService.ingestBatch(List.of(
+                new TransactionDTO(null, unknownSellerId, BigDecimal.valueOf(100), PaymentType.CARD, null),
+                new TransactionDTO(null, seller.getId(), BigDecimal.valueOf(200), PaymentType.CARD, null),
+                new TransactionDTO(null, seller.getId(), BigDecimal.valueOf(300), null, null)),
+                List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()));
+
+        assertEquals(List.of(0, 2), errors.stream().map(BulkIngestErrorDTO::getIndex).toList());
+        assertEquals(1, iTransactionRepository.findBySellerId(seller.getId()).size());
+    }
+
+    @Test
+    @DisplayName("Test ingestBatch - Replayed batch skips rows that were already written")
+    public void testIngestBatch_ReplaySkipsWrittenRows() {
+
+        Seller seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+        List<UUID> ingestIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        TransactionDTO first = new TransactionDTO(null, seller.getId(), BigDecimal.valueOf(100), PaymentType.CARD, null);
+        TransactionDTO second = new TransactionDTO(null, seller.getId(), BigDecimal.valueOf(200), PaymentType.CARD, null);
+
+        transactionIngestService.ingestBatch(List.of(first), ingestIds.subList(0, 1));
+        // Повтор после сбоя между фиксацией и отметкой в журнале: первая строка уже записана.
+        List<BulkIngestErrorDTO> errors = transactionIngestService.ingestBatch(List.of(first, second), ingestIds);
+
+        assertTrue(errors.isEmpty());
+        assertEquals(2, iTransactionRepository.findBySellerId(seller.getId()).size());
+        Map<String, Object> dailySales = jdbcTemplate.queryForMap("select transaction_count, total_amount from seller_daily_sales");
+        assertEquals(2L, ((Number) dailySales.get("transaction_count")).longValue());
+        assertEquals(0, BigDecimal.valueOf(300).compareTo((BigDecimal) dailySales.get("total_amount")));
+
+        transactionIngestService.forgetIngestIds(ingestIds);
+        assertEquals(0, jdbcTemplate.queryForObject("select count(*) from write_behind_ingest", Integer.class));
+    }
+
+    @Test
+    @DisplayName("Test ingestBatch - Accepted transaction date is kept, daily rollup uses it")
+    public void testIngestBatch_KeepsAcceptedDate() {
+
+        Seller seller = iSellerRepository.save(new Seller("John Doe", "john@example.com"));
+        LocalDateTime acceptedDate = LocalDateTime.now().minusDays(1).withNano(0);
+
+        List<BulkIngestErrorDTO> errors = transactionIngestService.ingestBatch(List.of(
+                new TransactionDTO(null, seller.getId(), BigDecimal.valueOf(100), PaymentType.CARD, acceptedDate)),
+                List.of(UUID.randomUUID()));
+
+        assertTrue(errors.isEmpty());
+        assertEquals(acceptedDate, iTransactionRepository.findBySellerId(seller.getId()).get(0).getTransactionDate());
+        assertEquals(acceptedDate.toLocalDate(),
+                jdbcTemplate.queryForObject("select sales_date from seller_daily_sales", LocalDate.class));
+    }
+
+    @Test
+    @DisplayName("Test ingestTransactions - Empty input")
+    public void testIngestTransactions_Empty() {
+
+        BulkIngestResultDTO result = transactionIngestService.ingestTransactions(List.<TransactionDTO>of().iterator());
+
+        assertEquals(0, result.getReceived());
+        assertEquals(0, result.getAccepted());
+        assertTrue(result.getErrors().isEmpty());
+    }
+}
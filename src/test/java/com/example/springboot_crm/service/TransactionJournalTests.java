@@ -0,0 +1,101 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TransactionJournalTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    @TempDir
+    private Path directory;
+
+
+    @Test
+    @DisplayName("Test recover - Accepted records without done are returned in order")
+    public void testRecover_PendingRecords() throws IOException {
+
+        Path path = directory.resolve("write-behind.journal");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+
+        try (TransactionJournal journal = new TransactionJournal(path, objectMapper, false)) {
+            journal.recover();
+            journal.appendAccepted(first, transaction(1L, "100.00"));
+            journal.appendAccepted(second, transaction(2L, "200.00"));
+            journal.appendAccepted(third, transaction(3L, "300.00"));
+            journal.appendDone(List.of(second));
+        }
+
+        try (TransactionJournal journal = new TransactionJournal(path, objectMapper, false)) {
+            List<TransactionJournal.JournalRecord> pending = journal.recover();
+
+            assertEquals(List.of(first, third), pending.stream().map(TransactionJournal.JournalRecord::id).toList());
+            assertEquals(3L, pending.get(1).transaction().getSellerId());
+            assertEquals(0, new BigDecimal("300.00").compareTo(pending.get(1).transaction().getAmount()));
+        }
+        // После восстановления в журнале остаются только незавершенные записи.
+        assertEquals(2, Files.readAllLines(path).size());
+    }
+
+    @Test
+    @DisplayName("Test appendDone - Journal is truncated when nothing is outstanding")
+    public void testAppendDone_TruncatesJournal() throws IOException {
+
+        Path path = directory.resolve("write-behind.journal");
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+
+        try (TransactionJournal journal = new TransactionJournal(path, objectMapper, true)) {
+            journal.recover();
+            journal.appendAccepted(first, transaction(1L, "100.00"));
+            journal.appendAccepted(second, transaction(2L, "200.00"));
+            journal.appendDone(List.of(first));
+            assertTrue(Files.size(path) > 0);
+
+            journal.appendDone(List.of(second));
+            assertEquals(0, Files.size(path));
+        }
+    }
+
+    @Test
+    @DisplayName("Test recover - Partially written last line is skipped")
+    public void testRecover_SkipsPartialLine() throws IOException {
+
+        Path path = directory.resolve("write-behind.journal");
+        UUID id = UUID.randomUUID();
+
+        try (TransactionJournal journal = new TransactionJournal(path, objectMapper, false)) {
+            journal.recover();
+            journal.appendAccepted(id, transaction(1L, "100.00"));
+        }
+        Files.writeString(path, "{\"type\":\"ACCEPTED\",\"id\":\"", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (TransactionJournal journal = new TransactionJournal(path, objectMapper, false)) {
+            List<TransactionJournal.JournalRecord> pending = journal.recover();
+
+            assertEquals(1, pending.size());
+            assertEquals(id, pending.get(0).id());
+        }
+    }
+
+    private static TransactionDTO transaction(Long sellerId, String amount) {
+        return new TransactionDTO(null, sellerId, new BigDecimal(amount), PaymentType.CARD, null);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.config.DatabasePlatform;
+import com.example.springboot_crm.repository.TransactionPartitionJdbcRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(properties = {"crm.partitions.months-ahead=2", "crm.partitions.retention-months=12"})
+public class TransactionPartitionMaintainerTests {
+
+    private static final YearMonth CURRENT_MONTH = YearMonth.of(2024, 5);
+
+    @Autowired
+    private TransactionPartitionMaintainer transactionPartitionMaintainer;
+
+    @MockBean
+    private TransactionPartitionJdbcRepository transactionPartitionJdbcRepository;
+
+    @MockBean
+    private DatabasePlatform databasePlatform;
+
+
+    @Test
+    @DisplayName("Test maintainPartitions - Creates missing partitions ahead and drops expired ones")
+    public void testMaintainPartitions_CreatesAndDrops() {
+
+        when(databasePlatform.isPostgreSql()).thenReturn(true);
+        when(transactionPartitionJdbcRepository.isPartitioned()).thenReturn(true);
+        when(transactionPartitionJdbcRepository.findMonthlyPartitions()).thenReturn(List.of(
+                YearMonth.of(2023, 4), YearMonth.of(2023, 5), YearMonth.of(2024, 5)));
+
+        transactionPartitionMaintainer.maintainPartitions(CURRENT_MONTH);
+
+        verify(transactionPartitionJdbcRepository, never()).createMonthlyPartition(YearMonth.of(2024, 5));
+        verify(transactionPartitionJdbcRepository, times(1)).createMonthlyPartition(YearMonth.of(2024, 6));
+        verify(transactionPartitionJdbcRepository, times(1)).createMonthlyPartition(YearMonth.of(2024, 7));
+        verify(transactionPartitionJdbcRepository, never()).createMonthlyPartition(YearMonth.of(2024, 8));
+        verify(transactionPartitionJdbcRepository, times(1)).dropMonthlyPartition(YearMonth.of(2023, 4));
+        verify(transactionPartitionJdbcRepository, never()).dropMonthlyPartition(YearMonth.of(2023, 5));
+    }
+
+    @Test
+    @DisplayName("Test maintainPartitions - Does nothing when table is not partitioned")
+    public void testMaintainPartitions_NotPartitioned() {
+
+        when(databasePlatform.isPostgreSql()).thenReturn(true);
+        when(transactionPartitionJdbcRepository.isPartitioned()).thenReturn(false);
+
+        transactionPartitionMaintainer.maintainPartitions(CURRENT_MONTH);
+
+        verify(transactionPartitionJdbcRepository, never()).createMonthlyPartition(any());
+        verify(transactionPartitionJdbcRepository, never()).dropMonthlyPartition(any());
+    }
+
+    @Test
+    @DisplayName("Test maintainPartitions - Does nothing on databases other than PostgreSQL")
+    public void testMaintainPartitions_NotPostgreSql() {
+
+        when(databasePlatform.isPostgreSql()).thenReturn(false);
+
+        transactionPartitionMaintainer.maintainPartitions(CURRENT_MONTH);
+
+        verify(transactionPartitionJdbcRepository, never()).isPartitioned();
+        verify(transactionPartitionJdbcRepository, never()).createMonthlyPartition(any());
+    }
+}
@@ -1,9 +1,11 @@
 package com.example.springboot_crm.service;
 
 import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.TransactionPageDTO;
 import com.example.springboot_crm.entity.PaymentType;
 import com.example.springboot_crm.entity.Seller;
 import com.example.springboot_crm.entity.Transaction;
+import com.example.springboot_crm.exception.InvalidCursorException;
 import com.example.springboot_crm.exception.ResourceNotFoundException;
 import com.example.springboot_crm.mapper.TransactionMapper;
 import com.example.springboot_crm.repository.ISellerRepository;
@@ -13,10 +15,11 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -36,6 +39,9 @@ public class TransactionServiceTests {
     @MockBean
     private ISellerRepository sellerRepository;
 
+    @MockBean
+    private SellerDailySalesService sellerDailySalesService;
+
     @MockBean
     private TransactionMapper transactionMapper;
 
@@ -44,35 +50,10 @@ public class TransactionServiceTests {
     @DisplayName("Test getAllTransactions - Success")
     public void testGetAllTransactions_Success() {
 
-        Transaction transaction1 = new Transaction();
-        transaction1.setId(1L);
-        transaction1.setAmount(new BigDecimal("100.00"));
-        transaction1.setPaymentType(PaymentType.CASH);
-        transaction1.setTransactionDate(LocalDateTime.now());
-
-        Transaction transaction2 = new Transaction();
-        transaction2.setId(2L);
-        transaction2.setAmount(new BigDecimal("200.00"));
-        transaction2.setPaymentType(PaymentType.CARD);
-        transaction2.setTransactionDate(LocalDateTime.now());
-
-        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
-
-        TransactionDTO transactionDTO1 = new TransactionDTO();
-        transactionDTO1.setId(transaction1.getId());
-        transactionDTO1.setAmount(transaction1.getAmount());
-        transactionDTO1.setPaymentType(transaction1.getPaymentType());
-        transactionDTO1.setTransactionDate(transaction1.getTransactionDate());
-
-        TransactionDTO transactionDTO2 = new TransactionDTO();
-        transactionDTO2.setId(transaction2.getId());
-        transactionDTO2.setAmount(transaction2.getAmount());
-        transactionDTO2.setPaymentType(transaction2.getPaymentType());
-        transactionDTO2.setTransactionDate(transaction2.getTransactionDate());
+        TransactionDTO transactionDTO1 = new TransactionDTO(1L, 1L, new BigDecimal("100.00"), PaymentType.CASH, LocalDateTime.now());
+        TransactionDTO transactionDTO2 = new TransactionDTO(2L, 1L, new BigDecimal("200.00"), PaymentType.CARD, LocalDateTime.now());
 
-        when(transactionRepository.findAll()).thenReturn(transactions);
-        when(transactionMapper.toDTO(transaction1)).thenReturn(transactionDTO1);
-        when(transactionMapper.toDTO(transaction2)).thenReturn(transactionDTO2);
+        when(transactionRepository.findAllDTOs()).thenReturn(List.of(transactionDTO1, transactionDTO2));
 
         List<TransactionDTO> result = transactionService.getAllTransactions();
 
@@ -81,16 +62,16 @@ public class TransactionServiceTests {
         assertTrue(result.contains(transactionDTO1));
         assertTrue(result.contains(transactionDTO2));
 
-        verify(transactionRepository, times(1)).findAll();
-        verify(transactionMapper, times(1)).toDTO(transaction1);
-        verify(transactionMapper, times(1)).toDTO(transaction2);
+        verify(transactionRepository, times(1)).findAllDTOs();
+        verify(transactionRepository, never()).findAll();
+        verify(transactionMapper, never()).toDTO(any(Transaction.class));
     }
 
     @Test
     @DisplayName("Test getAllTransactions - Transactions not found")
     public void testGetAllTransactions_NoTransactionsFound() {
 
-        when(transactionRepository.findAll()).thenReturn(Collections.emptyList());
+        when(transactionRepository.findAllDTOs()).thenReturn(Collections.emptyList());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             transactionService.getAllTransactions();
@@ -98,40 +79,82 @@ public class TransactionServiceTests {
 
         assertEquals("No transactions found", exception.getMessage());
 
-        verify(transactionRepository, times(1)).findAll();
-        verify(transactionMapper, never()).toDTO(any(Transaction.class));
+        verify(transactionRepository, times(1)).findAllDTOs();
+    }
+
+
+    @Test
+    @DisplayName("Test getTransactionsPage - First page with next cursor")
+    public void testGetTransactionsPage_FirstPage() {
+
+        LocalDateTime transactionDate = LocalDateTime.of(2023, 5, 15, 12, 0);
+        List<TransactionDTO> transactions = new ArrayList<>();
+        for (long id = 1; id <= 3; id++) {
+            transactions.add(new TransactionDTO(id, 1L, new BigDecimal("100.00"), PaymentType.CASH, transactionDate));
+        }
+
+        when(transactionRepository.findFirstPage(PageRequest.of(0, 3))).thenReturn(transactions);
+
+        TransactionPageDTO result = transactionService.getTransactionsPage(null, 2);
+
+        assertNotNull(result);
+        assertEquals(2, result.getTransactions().size());
+        assertEquals(2L, result.getTransactions().get(1).getId());
+        assertEquals(new TransactionCursor(transactionDate, 2L), TransactionCursor.decode(result.getNextCursor()));
+
+        verify(transactionRepository, times(1)).findFirstPage(PageRequest.of(0, 3));
+        verify(transactionRepository, never()).findAllDTOs();
+    }
+
+    @Test
+    @DisplayName("Test getTransactionsPage - Last page after cursor")
+    public void testGetTransactionsPage_LastPage() {
+
+        LocalDateTime transactionDate = LocalDateTime.of(2023, 5, 15, 12, 0);
+        String cursor = new TransactionCursor(transactionDate, 2L).encode();
+
+        TransactionDTO transactionDTO = new TransactionDTO(3L, 1L, new BigDecimal("100.00"), PaymentType.CASH, transactionDate);
+
+        when(transactionRepository.findPageAfter(transactionDate, 2L, PageRequest.of(0, 3))).thenReturn(List.of(transactionDTO));
+
+        TransactionPageDTO result = transactionService.getTransactionsPage(cursor, 2);
+
+        assertEquals(1, result.getTransactions().size());
+        assertNull(result.getNextCursor());
+
+        verify(transactionRepository, times(1)).findPageAfter(transactionDate, 2L, PageRequest.of(0, 3));
+    }
+
+    @Test
+    @DisplayName("Test getTransactionsPage - Invalid cursor")
+    public void testGetTransactionsPage_InvalidCursor() {
+
+        assertThrows(InvalidCursorException.class, () -> transactionService.getTransactionsPage("not-a-cursor", 10));
+
+        verify(transactionRepository, never()).findPageAfter(any(), any(), any());
     }
 
 
+
     @Test
     @DisplayName("Test getTransactionById - Success")
     public void testGetTransactionById_Success() {
 
-        Transaction transaction = new Transaction();
-        transaction.setId(1L);
-        transaction.setAmount(new BigDecimal("100.00"));
-        transaction.setPaymentType(PaymentType.CASH);
-        transaction.setTransactionDate(LocalDateTime.now());
+        TransactionDTO transactionDTO = new TransactionDTO(1L, 1L, new BigDecimal("100.00"), PaymentType.CASH, LocalDateTime.now());
 
-        TransactionDTO transactionDTO = new TransactionDTO();
-        transactionDTO.setId(transaction.getId());
-        transactionDTO.setAmount(transaction.getAmount());
-        transactionDTO.setPaymentType(transaction.getPaymentType());
-        transactionDTO.setTransactionDate(transaction.getTransactionDate());
-
-        when(transactionRepository.findById(transaction.getId())).thenReturn(Optional.of(transaction));
-        when(transactionMapper.toDTO(transaction)).thenReturn(transactionDTO);
+        when(transactionRepository.findDTOById(transactionDTO.getId())).thenReturn(Optional.of(transactionDTO));
 
-        TransactionDTO result = transactionService.getTransactionById(transaction.getId());
+        TransactionDTO result = transactionService.getTransactionById(transactionDTO.getId());
 
         assertNotNull(result);
-        assertEquals(transaction.getId(), result.getId());
-        assertEquals(transaction.getAmount(), result.getAmount());
-        assertEquals(transaction.getPaymentType(), result.getPaymentType());
-        assertEquals(transaction.getTransactionDate(), result.getTransactionDate());
-
-        verify(transactionRepository, times(1)).findById(transaction.getId());
-        verify(transactionMapper, times(1)).toDTO(transaction);
+        assertEquals(transactionDTO.getId(), result.getId());
+        assertEquals(transactionDTO.getSellerId(), result.getSellerId());
+        assertEquals(transactionDTO.getAmount(), result.getAmount());
+        assertEquals(transactionDTO.getPaymentType(), result.getPaymentType());
+        assertEquals(transactionDTO.getTransactionDate(), result.getTransactionDate());
+
+        verify(transactionRepository, times(1)).findDTOById(transactionDTO.getId());
+        verify(transactionRepository, never()).findById(any());
     }
 
     @Test
@@ -139,7 +162,7 @@ public class TransactionServiceTests {
     public void testGetTransactionById_NotFound() {
         Long transactionId = 1L;
 
-        when(transactionRepository.findById(transactionId)).thenReturn(Optional.empty());
+        when(transactionRepository.findDTOById(transactionId)).thenReturn(Optional.empty());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             transactionService.getTransactionById(transactionId);
@@ -147,8 +170,7 @@ public class TransactionServiceTests {
 
         assertEquals("Transaction not found with id 1", exception.getMessage());
 
-        verify(transactionRepository, times(1)).findById(transactionId);
-        verify(transactionMapper, never()).toDTO(any(Transaction.class));
+        verify(transactionRepository, times(1)).findDTOById(transactionId);
     }
 
 
@@ -156,54 +178,21 @@ public class TransactionServiceTests {
     @DisplayName("Test getTransactionsBySellerId - Success")
     public void testGetTransactionsBySellerId_Success() {
 
-        Seller seller = new Seller();
-        seller.setId(1L);
-        seller.setName("John Doe");
-        seller.setContactInfo("john@example.com");
-        seller.setRegistrationDate(LocalDateTime.now());
-
-        Transaction transaction1 = new Transaction();
-        transaction1.setId(1L);
-        transaction1.setSeller(seller);
-        transaction1.setAmount(new BigDecimal("100.00"));
-        transaction1.setPaymentType(PaymentType.CASH);
-        transaction1.setTransactionDate(LocalDateTime.now());
-
-        Transaction transaction2 = new Transaction();
-        transaction2.setId(2L);
-        transaction2.setSeller(seller);
-        transaction2.setAmount(new BigDecimal("200.00"));
-        transaction2.setPaymentType(PaymentType.CARD);
-        transaction2.setTransactionDate(LocalDateTime.now());
-
-        List<Transaction> transactions = Arrays.asList(transaction1, transaction2);
-
-        TransactionDTO transactionDTO1 = new TransactionDTO();
-        transactionDTO1.setId(transaction1.getId());
-        transactionDTO1.setAmount(transaction1.getAmount());
-        transactionDTO1.setPaymentType(transaction1.getPaymentType());
-        transactionDTO1.setTransactionDate(transaction1.getTransactionDate());
-
-        TransactionDTO transactionDTO2 = new TransactionDTO();
-        transactionDTO2.setId(transaction2.getId());
-        transactionDTO2.setAmount(transaction2.getAmount());
-        transactionDTO2.setPaymentType(transaction2.getPaymentType());
-        transactionDTO2.setTransactionDate(transaction2.getTransactionDate());
+        Long sellerId = 1L;
+        TransactionDTO transactionDTO1 = new TransactionDTO(1L, sellerId, new BigDecimal("100.00"), PaymentType.CASH, LocalDateTime.now());
+        TransactionDTO transactionDTO2 = new TransactionDTO(2L, sellerId, new BigDecimal("200.00"), PaymentType.CARD, LocalDateTime.now());
 
-        when(transactionRepository.findBySellerId(seller.getId())).thenReturn(transactions);
-        when(transactionMapper.toDTO(transaction1)).thenReturn(transactionDTO1);
-        when(transactionMapper.toDTO(transaction2)).thenReturn(transactionDTO2);
+        when(transactionRepository.findDTOsBySellerId(sellerId)).thenReturn(List.of(transactionDTO1, transactionDTO2));
 
-        List<TransactionDTO> result = transactionService.getTransactionsBySellerId(seller.getId());
+        List<TransactionDTO> result = transactionService.getTransactionsBySellerId(sellerId);
 
         assertNotNull(result);
         assertEquals(2, result.size());
         assertTrue(result.contains(transactionDTO1));
         assertTrue(result.contains(transactionDTO2));
 
-        verify(transactionRepository, times(1)).findBySellerId(seller.getId());
-        verify(transactionMapper, times(1)).toDTO(transaction1);
-        verify(transactionMapper, times(1)).toDTO(transaction2);
+        verify(transactionRepository, times(1)).findDTOsBySellerId(sellerId);
+        verify(transactionRepository, never()).findBySellerId(any());
     }
 
     @Test
@@ -212,7 +201,7 @@ public class TransactionServiceTests {
 
         Long sellerId = 1L;
 
-        when(transactionRepository.findBySellerId(sellerId)).thenReturn(Collections.emptyList());
+        when(transactionRepository.findDTOsBySellerId(sellerId)).thenReturn(Collections.emptyList());
 
         ResourceNotFoundException exception = assertThrows(ResourceNotFoundException.class, () -> {
             transactionService.getTransactionsBySellerId(sellerId);
@@ -220,8 +209,7 @@ public class TransactionServiceTests {
 
         assertEquals("No transactions found for seller with id 1", exception.getMessage());
 
-        verify(transactionRepository, times(1)).findBySellerId(sellerId);
-        verify(transactionMapper, never()).toDTO(any(Transaction.class));
+        verify(transactionRepository, times(1)).findDTOsBySellerId(sellerId);
     }
 
 
@@ -262,6 +250,7 @@ public class TransactionServiceTests {
         savedTransactionDTO.setSellerId(savedTransaction.getId());
 
         when(sellerRepository.findById(seller.getId())).thenReturn(Optional.of(seller));
+        when(sellerRepository.getReferenceById(seller.getId())).thenReturn(seller);
         when(transactionMapper.toEntity(transactionDTO)).thenReturn(transactionEntity);
         when(transactionRepository.save(transactionEntity)).thenReturn(savedTransaction);
         when(transactionMapper.toDTO(savedTransaction)).thenReturn(savedTransactionDTO);
@@ -275,8 +264,11 @@ public class TransactionServiceTests {
         assertEquals(savedTransaction.getTransactionDate(), result.getTransactionDate());
 
         verify(sellerRepository, times(1)).findById(seller.getId());
+        verify(sellerRepository, times(1)).getReferenceById(seller.getId());
         verify(transactionMapper, times(1)).toEntity(transactionDTO);
         verify(transactionRepository, times(1)).save(transactionEntity);
+        verify(sellerDailySalesService, times(1)).recordSales(seller.getId(), savedTransaction.getTransactionDate().toLocalDate(),
+                savedTransaction.getPaymentType(), 1, savedTransaction.getAmount());
         verify(transactionMapper, times(1)).toDTO(savedTransaction);
     }
 
@@ -301,6 +293,7 @@ public class TransactionServiceTests {
         verify(sellerRepository, times(1)).findById(sellerId);
         verify(transactionMapper, never()).toEntity(any(TransactionDTO.class));
         verify(transactionRepository, never()).save(any(Transaction.class));
+        verify(sellerDailySalesService, never()).recordSales(any(), any(), any(), anyLong(), any());
         verify(transactionMapper, never()).toDTO(any(Transaction.class));
     }
 }
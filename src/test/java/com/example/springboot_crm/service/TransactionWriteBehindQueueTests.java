@@ -0,0 +1,222 @@
+package com.example.springboot_crm.service;
+
+import com.example.springboot_crm.dto.BulkIngestErrorDTO;
+import com.example.springboot_crm.dto.TransactionDTO;
+import com.example.springboot_crm.dto.WriteBehindStatusDTO;
+import com.example.springboot_crm.entity.PaymentType;
+import com.example.springboot_crm.exception.QueueFullException;
+import com.example.springboot_crm.exception.ResourceNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TransactionWriteBehindQueueTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final TransactionIngestService transactionIngestService = mock(TransactionIngestService.class);
+
+    @TempDir
+    private Path directory;
+
+    private TransactionWriteBehindQueue queue;
+
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (queue != null) {
+            queue.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Test enqueue - Written and rejected rows get their own status")
+    public void testEnqueue_WrittenAndFailed() throws Exception {
+
+        // Продавца 2 нет: его строка отклоняется, в какой бы пачке она ни оказалась.
+        when(transactionIngestService.ingestBatch(anyList(), anyList())).thenAnswer(invocation -> {
+            List<TransactionDTO> batch = invocation.getArgument(0);
+            List<BulkIngestErrorDTO> errors = new ArrayList<>();
+            for (int i = 0; i < batch.size(); i++) {
+                if (batch.get(i).getSellerId().equals(2L)) {
+                    errors.add(new BulkIngestErrorDTO(i, "Seller not found with id 2"));
+                }
+            }
+            return errors;
+        });
+        queue = startQueue(10, 10);
+
+        WriteBehindStatusDTO written = queue.enqueue(1L, transaction("100.00"));
+        WriteBehindStatusDTO failed = queue.enqueue(2L, transaction("200.00"));
+
+        assertEquals(WriteBehindStatusDTO.Status.PENDING, written.getStatus());
+        assertEquals(WriteBehindStatusDTO.Status.WRITTEN, awaitDone(written.getId()).getStatus());
+        WriteBehindStatusDTO failedStatus = awaitDone(failed.getId());
+        assertEquals(WriteBehindStatusDTO.Status.FAILED, failedStatus.getStatus());
+        assertEquals("Seller not found with id 2", failedStatus.getError());
+    }
+
+    @Test
+    @DisplayName("Test enqueue - Database failure is retried until the batch is written")
+    public void testEnqueue_RetriesDatabaseFailure() throws Exception {
+
+        when(transactionIngestService.ingestBatch(anyList(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"))
+                .thenReturn(List.of());
+        queue = startQueue(10, 10);
+
+        WriteBehindStatusDTO status = queue.enqueue(1L, transaction("100.00"));
+
+        assertEquals(WriteBehindStatusDTO.Status.WRITTEN, awaitDone(status.getId()).getStatus());
+        verify(transactionIngestService, times(2)).ingestBatch(anyList(), anyList());
+        awaitJournalEmpty();
+    }
+
+    @Test
+    @DisplayName("Test enqueue - Failure other than database access rejects the batch and completes the journal")
+    public void testEnqueue_UnexpectedFailure() throws Exception {
+
+        when(transactionIngestService.ingestBatch(anyList(), anyList()))
+                .thenThrow(new IllegalStateException("Unexpected"));
+        queue = startQueue(10, 10);
+
+        WriteBehindStatusDTO status = queue.enqueue(1L, transaction("100.00"));
+
+        WriteBehindStatusDTO failed = awaitDone(status.getId());
+        assertEquals(WriteBehindStatusDTO.Status.FAILED, failed.getStatus());
+        assertEquals("Batch failed: Unexpected", failed.getError());
+        verify(transactionIngestService, times(1)).ingestBatch(anyList(), anyList());
+        awaitJournalEmpty();
+    }
+
+    @Test
+    @DisplayName("Test enqueue - Full queue is rejected while the drainer is busy")
+    public void testEnqueue_QueueFull() throws Exception {
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(transactionIngestService.ingestBatch(anyList(), anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return List.of();
+        });
+        queue = startQueue(1, 10);
+
+        queue.enqueue(1L, transaction("100.00"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        queue.enqueue(1L, transaction("200.00"));
+
+        assertThrows(QueueFullException.class, () -> queue.enqueue(1L, transaction("300.00")));
+        assertEquals(1, queue.getQueueSize());
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("Test afterPropertiesSet - Unfinished journal records are replayed on startup")
+    public void testAfterPropertiesSet_ReplaysJournal() throws Exception {
+
+        Path path = directory.resolve("write-behind.journal");
+        UUID id = UUID.randomUUID();
+        try (TransactionJournal journal = new TransactionJournal(path, objectMapper, false)) {
+            journal.recover();
+            TransactionDTO transactionDTO = transaction("100.00");
+            transactionDTO.setSellerId(7L);
+            journal.appendAccepted(id, transactionDTO);
+        }
+        when(transactionIngestService.ingestBatch(anyList(), anyList())).thenReturn(List.of());
+
+        queue = startQueue(10, 10);
+
+        assertEquals(WriteBehindStatusDTO.Status.WRITTEN, awaitDone(id).getStatus());
+        verify(transactionIngestService).ingestBatch(argThat(batch -> batch.size() == 1
+                && batch.get(0).getSellerId().equals(7L)
+                && batch.get(0).getAmount().compareTo(new BigDecimal("100.00")) == 0), eq(List.of(id)));
+    }
+
+    @Test
+    @DisplayName("Test enqueue - Replayed journal keeps the time the transaction was accepted")
+    public void testEnqueue_ReplayKeepsAcceptedDate() throws Exception {
+
+        // База недоступна до остановки: транзакция остается только в журнале.
+        when(transactionIngestService.ingestBatch(anyList(), anyList()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+        queue = startQueue(10, 10);
+        TransactionDTO transactionDTO = transaction("100.00");
+        WriteBehindStatusDTO status = queue.enqueue(1L, transactionDTO);
+        LocalDateTime acceptedDate = transactionDTO.getTransactionDate();
+        assertNotNull(acceptedDate);
+        queue.destroy();
+
+        reset(transactionIngestService);
+        when(transactionIngestService.ingestBatch(anyList(), anyList())).thenReturn(List.of());
+        queue = startQueue(10, 10);
+
+        assertEquals(WriteBehindStatusDTO.Status.WRITTEN, awaitDone(status.getId()).getStatus());
+        verify(transactionIngestService).ingestBatch(
+                argThat(batch -> batch.size() == 1 && acceptedDate.equals(batch.get(0).getTransactionDate())),
+                eq(List.of(status.getId())));
+    }
+
+    @Test
+    @DisplayName("Test getStatus - Unknown id throws ResourceNotFoundException")
+    public void testGetStatus_NotFound() throws Exception {
+
+        queue = startQueue(10, 10);
+
+        assertThrows(ResourceNotFoundException.class, () -> queue.getStatus(UUID.randomUUID()));
+    }
+
+    private TransactionWriteBehindQueue startQueue(int capacity, int batchSize) throws Exception {
+
+        TransactionWriteBehindQueue writeBehindQueue = new TransactionWriteBehindQueue(transactionIngestService, objectMapper,
+                capacity, batchSize, directory.resolve("write-behind.journal"), false, Duration.ofMillis(10), Duration.ofHours(1));
+        writeBehindQueue.afterPropertiesSet();
+        return writeBehindQueue;
+    }
+
+    private WriteBehindStatusDTO awaitDone(UUID id) throws InterruptedException {
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (System.nanoTime() < deadline) {
+            WriteBehindStatusDTO status = queue.getStatus(id);
+            if (status.getStatus() != WriteBehindStatusDTO.Status.PENDING) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        return fail("Write-behind transaction " + id + " was not written in time");
+    }
+
+    // Статус выставляется перед отметкой в журнале, поэтому журнал проверяется с ожиданием.
+    private void awaitJournalEmpty() throws Exception {
+
+        Path journal = directory.resolve("write-behind.journal");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (Files.size(journal) != 0) {
+            if (System.nanoTime() >= deadline) {
+                fail("Write-behind journal was not completed in time");
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    private static TransactionDTO transaction(String amount) {
+        return new TransactionDTO(null, null, new BigDecimal(amount), PaymentType.CARD, null);
+    }
+}